@@ -4,7 +4,9 @@ import com.wdp.quest.commands.QuestAdminCommand;
 import com.wdp.quest.commands.QuestCommand;
 import com.wdp.quest.config.ConfigManager;
 import com.wdp.quest.config.MessageManager;
+import com.wdp.quest.data.DatabaseBackupManager;
 import com.wdp.quest.data.DatabaseManager;
+import com.wdp.quest.data.DataRetentionManager;
 import com.wdp.quest.data.PlayerQuestManager;
 import com.wdp.quest.integrations.EconomyIntegration;
 import com.wdp.quest.integrations.ProgressIntegration;
@@ -12,7 +14,10 @@ import com.wdp.quest.listeners.PlayerEventListener;
 import com.wdp.quest.listeners.QuestObjectiveListener;
 import com.wdp.quest.quest.DailyQuestManager;
 import com.wdp.quest.quest.QuestManager;
+import com.wdp.quest.ui.QuestMenuHandler;
 import com.wdp.quest.ui.QuestMenuListener;
+import com.wdp.quest.ui.hud.ProgressHudManager;
+import com.wdp.quest.ui.hud.SidebarManager;
 import com.wdp.quest.api.QuestAPI;
 import com.wdp.quest.util.SmartProgressTracker;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -27,6 +32,8 @@ public class WDPQuestPlugin extends JavaPlugin {
     private ConfigManager configManager;
     private MessageManager messageManager;
     private DatabaseManager databaseManager;
+    private DatabaseBackupManager backupManager;
+    private DataRetentionManager retentionManager;
     private QuestManager questManager;
     private DailyQuestManager dailyQuestManager;
     private PlayerQuestManager playerQuestManager;
@@ -34,6 +41,9 @@ public class WDPQuestPlugin extends JavaPlugin {
     private EconomyIntegration economyIntegration;
     private QuestAPI questAPI;
     private SmartProgressTracker smartProgressTracker;
+    private ProgressHudManager progressHud;
+    private SidebarManager sidebarManager;
+    private QuestMenuHandler questMenuHandler;
     private int autoSaveTaskId = -1;
     
     @Override
@@ -60,6 +70,8 @@ public class WDPQuestPlugin extends JavaPlugin {
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
+        backupManager = new DatabaseBackupManager(this, databaseManager);
+        retentionManager = new DataRetentionManager(this, databaseManager);
         
         // Initialize integrations
         progressIntegration = new ProgressIntegration(this);
@@ -84,6 +96,13 @@ public class WDPQuestPlugin extends JavaPlugin {
         // Initialize smart progress tracker
         smartProgressTracker = new SmartProgressTracker(this);
         
+        // Initialize action bar / boss bar progress display
+        progressHud = new ProgressHudManager(this);
+        sidebarManager = new SidebarManager(this);
+        
+        // Initialize quest menus, shared by the command and the menu listener
+        questMenuHandler = new QuestMenuHandler(this);
+        
         // Initialize API
         questAPI = new QuestAPI(this);
         
@@ -95,6 +114,14 @@ public class WDPQuestPlugin extends JavaPlugin {
         
         // Start auto-save task (every 5 minutes = 6000 ticks)
         startAutoSave();
+        progressHud.start();
+        sidebarManager.start();
+        questMenuHandler.start();
+        
+        // Start scheduled database backups, retention and pending data migrations
+        backupManager.start();
+        retentionManager.start();
+        databaseManager.getMigrator().start();
         
         long loadTime = System.currentTimeMillis() - startTime;
         getLogger().info("========================================");
@@ -114,6 +141,31 @@ public class WDPQuestPlugin extends JavaPlugin {
             getServer().getScheduler().cancelTask(autoSaveTaskId);
         }
         
+        if (dailyQuestManager != null) {
+            dailyQuestManager.shutdown();
+        }
+        if (progressIntegration != null) {
+            progressIntegration.shutdown();
+        }
+        if (progressHud != null) {
+            progressHud.shutdown();
+        }
+        if (sidebarManager != null) {
+            sidebarManager.shutdown();
+        }
+        if (questMenuHandler != null) {
+            questMenuHandler.shutdown();
+        }
+        if (backupManager != null) {
+            backupManager.stop();
+        }
+        if (retentionManager != null) {
+            retentionManager.stop();
+        }
+        if (databaseManager != null && databaseManager.getMigrator() != null) {
+            databaseManager.getMigrator().stop();
+        }
+        
         // Save all player data
         if (playerQuestManager != null) {
             getLogger().info("Saving all player quest data...");
@@ -156,6 +208,7 @@ public class WDPQuestPlugin extends JavaPlugin {
                     getLogger().info("Auto-saving quest data for " + playerCount + " online players...");
                     playerQuestManager.saveAllPlayers();
                 }
+                playerQuestManager.getOfflineCache().cleanUp();
             }
         }, 6000L, 6000L).getTaskId();
     }
@@ -163,8 +216,17 @@ public class WDPQuestPlugin extends JavaPlugin {
     public void reload() {
         configManager.loadConfig();
         messageManager.reload();
+        progressIntegration.reload();
+        economyIntegration.reload();
         questManager.loadQuests();
+        smartProgressTracker.reload();
+        progressHud.reload();
+        sidebarManager.reload();
+        questMenuHandler.reload();
         dailyQuestManager.reload();
+        playerQuestManager.reloadOfflineCache();
+        backupManager.reload();
+        retentionManager.reload();
         getLogger().info("Configuration and quests reloaded.");
     }
     
@@ -185,6 +247,14 @@ public class WDPQuestPlugin extends JavaPlugin {
         return databaseManager;
     }
     
+    public DatabaseBackupManager getBackupManager() {
+        return backupManager;
+    }
+    
+    public DataRetentionManager getRetentionManager() {
+        return retentionManager;
+    }
+    
     public QuestManager getQuestManager() {
         return questManager;
     }
@@ -212,4 +282,16 @@ public class WDPQuestPlugin extends JavaPlugin {
     public SmartProgressTracker getSmartProgressTracker() {
         return smartProgressTracker;
     }
+    
+    public ProgressHudManager getProgressHud() {
+        return progressHud;
+    }
+    
+    public SidebarManager getSidebarManager() {
+        return sidebarManager;
+    }
+    
+    public QuestMenuHandler getQuestMenuHandler() {
+        return questMenuHandler;
+    }
 }
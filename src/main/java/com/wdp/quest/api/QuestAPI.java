@@ -2,11 +2,16 @@ package com.wdp.quest.api;
 
 import com.wdp.quest.WDPQuestPlugin;
 import com.wdp.quest.data.PlayerQuestData;
+import com.wdp.quest.data.PlayerQuestStats;
 import com.wdp.quest.quest.Quest;
 import com.wdp.quest.quest.QuestCategory;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Public API for other plugins to interact with the quest system
@@ -104,12 +109,71 @@ public class QuestAPI {
     }
     
     /**
-     * Get a player's completed quest count
+     * Get a player's lifetime completed quest count, repeats included
      * @param player The player
      * @return Number of completed quests
      */
     public int getCompletedQuestCount(Player player) {
-        return plugin.getPlayerQuestManager().getPlayerData(player).getCompletedQuestCount();
+        return plugin.getPlayerQuestManager().getPlayerData(player).getLifetimeCompletedCount();
+    }
+    
+    /**
+     * Get quest data for any player, online or offline, without blocking
+     * @param uuid The player's UUID
+     * @return Future completed with the player's quest data
+     */
+    public CompletableFuture<PlayerQuestData> getPlayerData(UUID uuid) {
+        return plugin.getPlayerQuestManager().getPlayerDataAsync(uuid);
+    }
+    
+    /**
+     * Check if a possibly offline player has completed a quest
+     * @param uuid The player's UUID
+     * @param questId The quest ID
+     * @return Future completed with true if the quest is completed
+     */
+    public CompletableFuture<Boolean> isQuestCompleted(UUID uuid, String questId) {
+        return getPlayerData(uuid).thenApply(data -> data.isQuestCompleted(questId));
+    }
+    
+    /**
+     * Get a possibly offline player's lifetime completed quest count, repeats included
+     * @param uuid The player's UUID
+     * @return Future completed with the number of completed quests
+     */
+    public CompletableFuture<Integer> getCompletedQuestCount(UUID uuid) {
+        return getPlayerStats(uuid).thenApply(PlayerQuestStats::getCompletedCount);
+    }
+    
+    /**
+     * Get lifetime quest statistics for any player without loading their quest data
+     * @param uuid The player's UUID
+     * @return Future completed with the player's stats
+     */
+    public CompletableFuture<PlayerQuestStats> getPlayerStats(UUID uuid) {
+        return supplyAsync(() -> plugin.getDatabaseManager().loadPlayerStats(uuid));
+    }
+    
+    /**
+     * Get the highest ranked players, online or offline
+     * @param ranking The statistic to rank by
+     * @param limit Maximum number of players
+     * @return Future completed with the stats of the top players, highest first
+     */
+    public CompletableFuture<List<PlayerQuestStats>> getTopPlayers(PlayerQuestStats.Ranking ranking, int limit) {
+        return supplyAsync(() -> plugin.getDatabaseManager().getTopPlayers(ranking, limit));
+    }
+    
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
     }
     
     /**
@@ -1,7 +1,9 @@
 package com.wdp.quest.commands;
 
 import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.data.DatabaseBackupManager;
 import com.wdp.quest.data.PlayerQuestData;
+import com.wdp.quest.data.PlayerQuestStats;
 import com.wdp.quest.quest.Quest;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -47,6 +49,10 @@ public class QuestAdminCommand implements CommandExecutor, TabCompleter {
             case "reset" -> handleReset(sender, args);
             case "progress" -> handleProgress(sender, args);
             case "list" -> handleList(sender);
+            case "backup" -> handleBackup(sender);
+            case "stats" -> handleStats(sender);
+            case "migrations" -> handleMigrations(sender);
+            case "top" -> handleTop(sender, args);
             default -> sendHelp(sender);
         }
         
@@ -61,6 +67,10 @@ public class QuestAdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(plugin.getMessages().get("commands.admin.help.reset"));
         sender.sendMessage(plugin.getMessages().get("commands.admin.help.progress"));
         sender.sendMessage(plugin.getMessages().get("commands.admin.help.list"));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.help.backup"));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.help.stats"));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.help.migrations"));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.help.top"));
         sender.sendMessage(plugin.getMessages().get("commands.admin.help-footer"));
     }
     
@@ -185,31 +195,38 @@ public class QuestAdminCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        var data = plugin.getPlayerQuestManager().getPlayerData(target);
-        double progress = plugin.getProgressIntegration().getPlayerProgress(target);
-        
-        sender.sendMessage(plugin.getMessages().get("commands.admin.progress-header", "player", target.getName()));
-        sender.sendMessage(plugin.getMessages().get("commands.admin.progress-level", "progress", String.format("%.1f", progress)));
-        sender.sendMessage(plugin.getMessages().get("commands.admin.active-quests", "count", String.valueOf(data.getActiveQuestCount())));
-        sender.sendMessage(plugin.getMessages().get("commands.admin.completed-quests", "count", String.valueOf(data.getCompletedQuestCount())));
-        
-        if (!data.getActiveQuests().isEmpty()) {
-            sender.sendMessage(plugin.getMessages().get("commands.admin.active-label"));
-            for (var questProgress : data.getActiveQuests()) {
-                Quest quest = plugin.getQuestManager().getQuest(questProgress.getQuestId());
-                String name = quest != null ? quest.getDisplayName() : questProgress.getQuestId();
-                double completion = 0;
-                if (quest != null) {
-                    var targets = new java.util.LinkedHashMap<String,Integer>();
-                    for (var obj : quest.getObjectives()) targets.put(obj.getId(), obj.getTargetAmount());
-                    completion = targets.isEmpty() ? 100.0 : questProgress.getActualCompletionPercentage(targets);
+        // Lifetime count comes from the stats table; completed quest rows are replaced on repeats
+        plugin.getQuestAPI().getPlayerStats(target.getUniqueId()).thenAccept(stats -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (!target.isOnline()) {
+                sender.sendMessage(plugin.getMessages().get("errors.player-not-found"));
+                return;
+            }
+            var data = plugin.getPlayerQuestManager().getPlayerData(target);
+            double progress = plugin.getProgressIntegration().getPlayerProgress(target);
+            
+            sender.sendMessage(plugin.getMessages().get("commands.admin.progress-header", "player", target.getName()));
+            sender.sendMessage(plugin.getMessages().get("commands.admin.progress-level", "progress", String.format("%.1f", progress)));
+            sender.sendMessage(plugin.getMessages().get("commands.admin.active-quests", "count", String.valueOf(data.getActiveQuestCount())));
+            sender.sendMessage(plugin.getMessages().get("commands.admin.completed-quests", "count", String.valueOf(stats.getCompletedCount())));
+            
+            if (!data.getActiveQuests().isEmpty()) {
+                sender.sendMessage(plugin.getMessages().get("commands.admin.active-label"));
+                for (var questProgress : data.getActiveQuests()) {
+                    Quest quest = plugin.getQuestManager().getQuest(questProgress.getQuestId());
+                    String name = quest != null ? quest.getDisplayName() : questProgress.getQuestId();
+                    double completion = 0;
+                    if (quest != null) {
+                        var targets = new java.util.LinkedHashMap<String,Integer>();
+                        for (var obj : quest.getObjectives()) targets.put(obj.getId(), obj.getTargetAmount());
+                        completion = targets.isEmpty() ? 100.0 : questProgress.getActualCompletionPercentage(targets);
+                    }
+                    sender.sendMessage(plugin.getMessages().get("commands.admin.active-quest-entry",
+                        "quest", name, "completion", String.format("%.0f", completion)));
                 }
-                sender.sendMessage(plugin.getMessages().get("commands.admin.active-quest-entry",
-                    "quest", name, "completion", String.format("%.0f", completion)));
             }
-        }
-        
-        sender.sendMessage(plugin.getMessages().get("commands.admin.progress-footer"));
+            
+            sender.sendMessage(plugin.getMessages().get("commands.admin.progress-footer"));
+        }));
     }
     
     private void handleList(CommandSender sender) {
@@ -226,12 +243,127 @@ public class QuestAdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(plugin.getMessages().get("commands.admin.list-footer"));
     }
     
+    private void handleBackup(CommandSender sender) {
+        var backupManager = plugin.getBackupManager();
+        if (backupManager.isRunning()) {
+            sender.sendMessage(plugin.getMessages().get("commands.admin.backup-running"));
+            return;
+        }
+        
+        sender.sendMessage(plugin.getMessages().get("commands.admin.backup-started"));
+        backupManager.runBackupAsync(result -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (result == null) {
+                sender.sendMessage(plugin.getMessages().get("commands.admin.backup-failed"));
+                return;
+            }
+            sender.sendMessage(plugin.getMessages().get("commands.admin.backup-complete",
+                "file", result.file.getName(),
+                "size", DatabaseBackupManager.formatSize(result.fileBytes),
+                "time", String.valueOf(result.durationMs)));
+        }));
+    }
+    
+    private void handleStats(CommandSender sender) {
+        var playerManager = plugin.getPlayerQuestManager();
+        var cache = playerManager.getOfflineCache();
+        
+        sender.sendMessage(plugin.getMessages().get("commands.admin.stats-header"));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.stats-online",
+            "count", String.valueOf(playerManager.getLoadedPlayerCount())));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.stats-offline-cache",
+            "size", String.valueOf(cache.size()),
+            "max", String.valueOf(cache.getMaxSize()),
+            "hits", String.valueOf(cache.getHits()),
+            "misses", String.valueOf(cache.getMisses()),
+            "rate", String.format("%.1f", cache.getHitRate()),
+            "evictions", String.valueOf(cache.getEvictions()),
+            "expirations", String.valueOf(cache.getExpirations())));
+        var progress = plugin.getProgressIntegration();
+        sender.sendMessage(plugin.getMessages().get("commands.admin.stats-progress-cache",
+            "size", String.valueOf(progress.getCacheSize()),
+            "hits", String.valueOf(progress.getCacheHits()),
+            "misses", String.valueOf(progress.getCacheMisses()),
+            "rate", String.format("%.1f", progress.getCacheHitRate())));
+        var economy = plugin.getEconomyIntegration();
+        sender.sendMessage(plugin.getMessages().get("commands.admin.stats-balance-cache",
+            "size", String.valueOf(economy.getCacheSize()),
+            "hits", String.valueOf(economy.getCacheHits()),
+            "misses", String.valueOf(economy.getCacheMisses()),
+            "rate", String.format("%.1f", economy.getCacheHitRate())));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.stats-footer"));
+    }
+    
+    private void handleMigrations(CommandSender sender) {
+        var migrator = plugin.getDatabaseManager().getMigrator();
+        
+        sender.sendMessage(plugin.getMessages().get("commands.admin.migrations-header"));
+        sender.sendMessage(plugin.getMessages().get("commands.admin.migrations-schema",
+            "version", String.valueOf(migrator.getSchemaVersion()),
+            "latest", String.valueOf(migrator.getLatestVersion())));
+        
+        var statuses = migrator.getStatuses();
+        if (statuses.isEmpty()) {
+            sender.sendMessage(plugin.getMessages().get("commands.admin.migrations-pending-start"));
+        }
+        for (var status : statuses) {
+            String key = status.isCompleted() ? "commands.admin.migrations-done" : "commands.admin.migrations-running";
+            sender.sendMessage(plugin.getMessages().get(key,
+                "migration", status.getName(),
+                "description", status.getDescription(),
+                "percent", String.valueOf(status.getPercent()),
+                "processed", String.valueOf(status.getProcessed()),
+                "total", String.valueOf(status.getTotal())));
+        }
+        sender.sendMessage(plugin.getMessages().get("commands.admin.migrations-footer"));
+    }
+    
+    private void handleTop(CommandSender sender, String[] args) {
+        PlayerQuestStats.Ranking ranking = args.length >= 2
+            ? PlayerQuestStats.Ranking.fromString(args[1])
+            : PlayerQuestStats.Ranking.COMPLETED;
+        if (ranking == null) {
+            sender.sendMessage(plugin.getMessages().get("commands.admin.usage.top"));
+            return;
+        }
+        
+        int limit = 10;
+        if (args.length >= 3) {
+            try {
+                limit = Math.max(1, Math.min(100, Integer.parseInt(args[2])));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(plugin.getMessages().get("commands.admin.usage.top"));
+                return;
+            }
+        }
+        
+        PlayerQuestStats.Ranking selected = ranking;
+        plugin.getQuestAPI().getTopPlayers(ranking, limit).thenAccept(top -> Bukkit.getScheduler().runTask(plugin, () -> {
+            sender.sendMessage(plugin.getMessages().get("commands.admin.top-header",
+                "ranking", selected.name().toLowerCase()));
+            int rank = 1;
+            for (PlayerQuestStats stats : top) {
+                String name = Bukkit.getOfflinePlayer(stats.getUuid()).getName();
+                sender.sendMessage(plugin.getMessages().get("commands.admin.top-entry",
+                    "rank", String.valueOf(rank++),
+                    "player", name != null ? name : stats.getUuid().toString(),
+                    "completed", String.valueOf(stats.getCompletedCount()),
+                    "hard", String.valueOf(stats.getHardCompleted()),
+                    "coins", String.format("%.0f", stats.getCoinsEarned()),
+                    "streak", String.valueOf(stats.getBestStreak())));
+            }
+            if (top.isEmpty()) {
+                sender.sendMessage(plugin.getMessages().get("commands.admin.top-empty"));
+            }
+            sender.sendMessage(plugin.getMessages().get("commands.admin.top-footer"));
+        }));
+    }
+    
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("reload", "give", "complete", "reset", "progress", "list"));
+            completions.addAll(Arrays.asList("reload", "give", "complete", "reset", "progress", "list", "backup", "stats", "migrations", "top"));
         } else if (args.length == 2) {
             switch (args[0].toLowerCase()) {
                 case "give", "complete", "reset", "progress" -> {
@@ -239,6 +371,11 @@ public class QuestAdminCommand implements CommandExecutor, TabCompleter {
                         completions.add(p.getName());
                     }
                 }
+                case "top" -> {
+                    for (PlayerQuestStats.Ranking ranking : PlayerQuestStats.Ranking.values()) {
+                        completions.add(ranking.name().toLowerCase());
+                    }
+                }
             }
         } else if (args.length == 3) {
             switch (args[0].toLowerCase()) {
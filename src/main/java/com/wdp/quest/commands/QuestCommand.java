@@ -3,6 +3,7 @@ package com.wdp.quest.commands;
 import com.wdp.quest.WDPQuestPlugin;
 import com.wdp.quest.quest.Quest;
 import com.wdp.quest.ui.QuestMenuHandler;
+import com.wdp.quest.ui.hud.ProgressHudManager.HudMode;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -24,7 +25,7 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
     
     public QuestCommand(WDPQuestPlugin plugin) {
         this.plugin = plugin;
-        this.menuHandler = new QuestMenuHandler(plugin);
+        this.menuHandler = plugin.getQuestMenuHandler();
     }
     
     @Override
@@ -81,6 +82,8 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             case "active" -> handleActive(player);
             case "completed" -> handleCompleted(player);
             case "updates" -> handleUpdates(player);
+            case "hud" -> handleHud(player, args);
+            case "sidebar" -> handleSidebar(player);
             default -> {
                 // Try to treat as quest ID
                 Quest quest = plugin.getQuestManager().getQuest(args[0]);
@@ -114,7 +117,7 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        data.setTrackedQuestId(questId);
+        plugin.getPlayerQuestManager().setTrackedQuest(player, questId);
         Quest quest = plugin.getQuestManager().getQuest(questId);
         String questName = quest != null ? quest.getDisplayName() : questId;
         player.sendMessage(plugin.getMessages().get("commands.now-tracking", "quest", questName));
@@ -165,6 +168,45 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    private void handleHud(Player player, String[] args) {
+        var hud = plugin.getProgressHud();
+        if (!hud.isEnabled()) {
+            player.sendMessage(plugin.getMessages().get("hud.disabled"));
+            return;
+        }
+        
+        HudMode mode;
+        if (args.length < 2) {
+            // Cycle chat -> action bar -> boss bar
+            HudMode[] modes = HudMode.values();
+            mode = modes[(hud.getMode(player.getUniqueId()).ordinal() + 1) % modes.length];
+        } else {
+            mode = HudMode.fromKey(args[1]);
+            if (mode == null) {
+                player.sendMessage(plugin.getMessages().get("commands.usage.hud"));
+                return;
+            }
+        }
+        
+        hud.setMode(player, mode);
+        player.sendMessage(plugin.getMessages().get("hud.mode-changed",
+            "mode", plugin.getMessages().get("hud.modes." + mode.getKey())));
+    }
+    
+    private void handleSidebar(Player player) {
+        var sidebar = plugin.getSidebarManager();
+        if (!sidebar.isAvailable()) {
+            player.sendMessage(plugin.getMessages().get("sidebar.disabled"));
+            return;
+        }
+        
+        if (sidebar.toggle(player)) {
+            player.sendMessage(plugin.getMessages().get("sidebar.shown"));
+        } else {
+            player.sendMessage(plugin.getMessages().get("sidebar.hidden"));
+        }
+    }
+    
     public QuestMenuHandler getMenuHandler() {
         return menuHandler;
     }
@@ -176,7 +218,7 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("track", "abandon", "info", "updates"));
+            completions.addAll(Arrays.asList("track", "abandon", "info", "updates", "hud", "sidebar"));
             // Add quest IDs
             completions.addAll(plugin.getQuestManager().getQuestIds());
         } else if (args.length == 2) {
@@ -188,6 +230,11 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
                     }
                 }
                 case "info" -> completions.addAll(plugin.getQuestManager().getQuestIds());
+                case "hud" -> {
+                    for (HudMode mode : HudMode.values()) {
+                        completions.add(mode.getKey());
+                    }
+                }
             }
         }
         
@@ -7,6 +7,9 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Manages plugin configuration
@@ -16,6 +19,7 @@ public class ConfigManager {
     private final WDPQuestPlugin plugin;
     private FileConfiguration config;
     private FileConfiguration navbarConfig;
+    private volatile NavbarLayout navbarLayout;
     
     // Cached config values
     private int maxActiveQuests;
@@ -66,6 +70,17 @@ public class ConfigManager {
             plugin.saveResource("navbar.yml", false);
         }
         navbarConfig = YamlConfiguration.loadConfiguration(navbarFile);
+        
+        // If file is empty, load defaults from resources
+        if (navbarConfig.getKeys(false).isEmpty()) {
+            InputStream defaultStream = plugin.getResource("navbar.yml");
+            if (defaultStream != null) {
+                navbarConfig = YamlConfiguration.loadConfiguration(new InputStreamReader(defaultStream, StandardCharsets.UTF_8));
+            }
+        }
+        
+        // Compile once; menus only fill in placeholders on open
+        navbarLayout = NavbarLayout.compile(navbarConfig, this, plugin.getLogger());
     }
     
     public String getMessage(String key) {
@@ -115,4 +130,5 @@ public class ConfigManager {
     public boolean isRecalculateOnComplete() { return recalculateOnComplete; }
     public FileConfiguration getConfig() { return config; }
     public FileConfiguration getNavbarConfig() { return navbarConfig; }
+    public NavbarLayout getNavbarLayout() { return navbarLayout; }
 }
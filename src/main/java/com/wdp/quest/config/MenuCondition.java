@@ -0,0 +1,34 @@
+package com.wdp.quest.config;
+
+/**
+ * A navbar.yml item condition, compiled once on load into a tree of small
+ * predicates, so rendering only evaluates it.
+ *
+ * Conditions combine comparisons and flags with {@code &&}, {@code ||},
+ * {@code !} and parentheses, for example:
+ * <pre>
+ *   page > 0
+ *   page &lt; total_pages - 1
+ *   is_active &amp;&amp; !is_completed
+ *   coins >= 500 || has_permission('wdp.quest.vip')
+ * </pre>
+ * Numbers: {@code page} (zero-based), {@code total_pages}, {@code coins},
+ * {@code tokens}, {@code progress}. Flags: {@code is_active},
+ * {@code is_completed}, {@code true}, {@code false}.
+ */
+@FunctionalInterface
+public interface MenuCondition {
+
+    MenuCondition ALWAYS = context -> true;
+
+    boolean test(MenuContext context);
+
+    /**
+     * Compile a condition; empty means always shown
+     * @throws IllegalArgumentException with the position of the problem if it can't be parsed
+     */
+    static MenuCondition compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) return ALWAYS;
+        return new MenuConditionParser(expression).parse();
+    }
+}
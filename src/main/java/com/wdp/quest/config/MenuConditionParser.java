@@ -0,0 +1,249 @@
+package com.wdp.quest.config;
+
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Recursive descent parser for {@link MenuCondition} expressions:
+ * <pre>
+ *   or         := and ('||' and)*
+ *   and        := unary ('&amp;&amp;' unary)*
+ *   unary      := '!' unary | '(' or ')' | flag | function | comparison
+ *   comparison := sum ('>' | '>=' | '&lt;' | '&lt;=' | '==' | '!=') sum
+ *   sum        := term (('+' | '-') term)*
+ *   term       := number | variable | '-' term
+ * </pre>
+ * New variables are added to {@link #NUMBERS} or {@link #FLAGS}.
+ */
+final class MenuConditionParser {
+
+    private static final Map<String, ToDoubleFunction<MenuContext>> NUMBERS = Map.of(
+        "page", context -> context.page,
+        "total_pages", context -> context.totalPages,
+        "coins", MenuContext::getCoins,
+        "tokens", MenuContext::getTokens,
+        "progress", MenuContext::getProgress);
+
+    private static final Map<String, MenuCondition> FLAGS = Map.of(
+        "is_active", context -> context.active,
+        "is_completed", context -> context.completed,
+        "true", MenuCondition.ALWAYS,
+        "false", context -> false);
+
+    // Older navbar.yml files wrote the next page check as "page < total_pages" or
+    // "page > total_pages"; both meant that a next page exists
+    private static final String NEXT_PAGE = "page < total_pages - 1";
+
+    private final String source;
+    private int pos;
+
+    MenuConditionParser(String source) {
+        this.source = isLegacyNextPage(source) ? NEXT_PAGE : source;
+    }
+
+    private static boolean isLegacyNextPage(String source) {
+        String compact = source.replaceAll("\\s+", "");
+        return compact.equals("page<total_pages") || compact.equals("page>total_pages");
+    }
+
+    MenuCondition parse() {
+        MenuCondition condition = parseOr();
+        skipSpaces();
+        if (pos < source.length()) {
+            throw error("unexpected '" + source.charAt(pos) + "'");
+        }
+        return condition;
+    }
+
+    private MenuCondition parseOr() {
+        MenuCondition left = parseAnd();
+        while (accept("||")) {
+            MenuCondition a = left;
+            MenuCondition b = parseAnd();
+            left = context -> a.test(context) || b.test(context);
+        }
+        return left;
+    }
+
+    private MenuCondition parseAnd() {
+        MenuCondition left = parseUnary();
+        while (accept("&&")) {
+            MenuCondition a = left;
+            MenuCondition b = parseUnary();
+            left = context -> a.test(context) && b.test(context);
+        }
+        return left;
+    }
+
+    private MenuCondition parseUnary() {
+        if (peek("!") && !peek("!=")) {
+            pos++;
+            MenuCondition inner = parseUnary();
+            return context -> !inner.test(context);
+        }
+        if (accept("(")) {
+            MenuCondition inner = parseOr();
+            expect(")");
+            return inner;
+        }
+
+        int start = skipSpaces();
+        String name = peekIdentifier();
+        if (name != null) {
+            MenuCondition flag = FLAGS.get(name);
+            if (flag != null) {
+                pos += name.length();
+                return flag;
+            }
+            if (name.equals("has_permission")) {
+                pos += name.length();
+                expect("(");
+                String permission = parseString();
+                expect(")");
+                return context -> context.hasPermission(permission);
+            }
+            if (!NUMBERS.containsKey(name)) {
+                throw error("unknown name '" + name + "'; known: " + knownNames(), start);
+            }
+        }
+        return parseComparison();
+    }
+
+    private MenuCondition parseComparison() {
+        ToDoubleFunction<MenuContext> left = parseSum();
+        skipSpaces();
+        int opStart = pos;
+        String op;
+        if (accept(">=")) op = ">=";
+        else if (accept("<=")) op = "<=";
+        else if (accept("==")) op = "==";
+        else if (accept("!=")) op = "!=";
+        else if (accept(">")) op = ">";
+        else if (accept("<")) op = "<";
+        else throw error("expected a comparison such as '>' or '==' after a number");
+
+        ToDoubleFunction<MenuContext> right = parseSum();
+        return switch (op) {
+            case ">=" -> context -> left.applyAsDouble(context) >= right.applyAsDouble(context);
+            case "<=" -> context -> left.applyAsDouble(context) <= right.applyAsDouble(context);
+            case "==" -> context -> left.applyAsDouble(context) == right.applyAsDouble(context);
+            case "!=" -> context -> left.applyAsDouble(context) != right.applyAsDouble(context);
+            case ">" -> context -> left.applyAsDouble(context) > right.applyAsDouble(context);
+            case "<" -> context -> left.applyAsDouble(context) < right.applyAsDouble(context);
+            default -> throw error("unknown operator '" + op + "'", opStart);
+        };
+    }
+
+    private ToDoubleFunction<MenuContext> parseSum() {
+        ToDoubleFunction<MenuContext> left = parseTerm();
+        while (true) {
+            if (accept("+")) {
+                ToDoubleFunction<MenuContext> a = left;
+                ToDoubleFunction<MenuContext> b = parseTerm();
+                left = context -> a.applyAsDouble(context) + b.applyAsDouble(context);
+            } else if (accept("-")) {
+                ToDoubleFunction<MenuContext> a = left;
+                ToDoubleFunction<MenuContext> b = parseTerm();
+                left = context -> a.applyAsDouble(context) - b.applyAsDouble(context);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private ToDoubleFunction<MenuContext> parseTerm() {
+        if (accept("-")) {
+            ToDoubleFunction<MenuContext> inner = parseTerm();
+            return context -> -inner.applyAsDouble(context);
+        }
+
+        int start = skipSpaces();
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos > start) {
+            try {
+                double value = Double.parseDouble(source.substring(start, pos));
+                return context -> value;
+            } catch (NumberFormatException e) {
+                throw error("invalid number '" + source.substring(start, pos) + "'", start);
+            }
+        }
+
+        String name = peekIdentifier();
+        if (name == null) {
+            throw error(pos < source.length() ? "expected a number or variable" : "expression ends too early");
+        }
+        ToDoubleFunction<MenuContext> variable = NUMBERS.get(name);
+        if (variable == null) {
+            String hint = FLAGS.containsKey(name) ? "'" + name + "' is a flag, not a number" : "unknown name '" + name + "'";
+            throw error(hint + "; numbers: " + new TreeSet<>(NUMBERS.keySet()), start);
+        }
+        pos += name.length();
+        return variable;
+    }
+
+    private String parseString() {
+        skipSpaces();
+        char quote = pos < source.length() ? source.charAt(pos) : 0;
+        if (quote != '\'' && quote != '"') {
+            throw error("expected a quoted text");
+        }
+        int end = source.indexOf(quote, pos + 1);
+        if (end < 0) {
+            throw error("text is not closed with " + quote);
+        }
+        String text = source.substring(pos + 1, end);
+        pos = end + 1;
+        return text;
+    }
+
+    private String peekIdentifier() {
+        int end = pos;
+        while (end < source.length() && (Character.isLetterOrDigit(source.charAt(end)) || source.charAt(end) == '_')) {
+            end++;
+        }
+        if (end == pos || Character.isDigit(source.charAt(pos))) return null;
+        return source.substring(pos, end);
+    }
+
+    private int skipSpaces() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private boolean peek(String token) {
+        skipSpaces();
+        return source.startsWith(token, pos);
+    }
+
+    private boolean accept(String token) {
+        if (!peek(token)) return false;
+        pos += token.length();
+        return true;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("expected '" + token + "'");
+        }
+    }
+
+    private static String knownNames() {
+        TreeSet<String> names = new TreeSet<>(NUMBERS.keySet());
+        names.addAll(FLAGS.keySet());
+        names.add("has_permission('...')");
+        return names.toString();
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, pos);
+    }
+
+    private IllegalArgumentException error(String message, int at) {
+        return new IllegalArgumentException(message + " at position " + (at + 1) + " in '" + source + "'");
+    }
+}
@@ -0,0 +1,54 @@
+package com.wdp.quest.config;
+
+import org.bukkit.entity.Player;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * What a menu condition can check while a menu is rendered. Balances and
+ * progress are looked up only if a condition actually uses them.
+ */
+public final class MenuContext {
+
+    // null when rendered without a viewer
+    public final Player player;
+    // Zero-based page, so "page > 0" means there is a previous page
+    public final int page;
+    public final int totalPages;
+    public final boolean active;
+    public final boolean completed;
+    private final DoubleSupplier coins;
+    private final DoubleSupplier tokens;
+    private final DoubleSupplier progress;
+
+    public MenuContext(Player player, int page, int totalPages, boolean active, boolean completed,
+                       DoubleSupplier coins, DoubleSupplier tokens, DoubleSupplier progress) {
+        this.player = player;
+        this.page = page;
+        this.totalPages = totalPages;
+        this.active = active;
+        this.completed = completed;
+        this.coins = coins;
+        this.tokens = tokens;
+        this.progress = progress;
+    }
+
+    public double getCoins() {
+        return coins.getAsDouble();
+    }
+
+    public double getTokens() {
+        return tokens.getAsDouble();
+    }
+
+    /**
+     * The viewer's WDP-Progress level (1-100)
+     */
+    public double getProgress() {
+        return progress.getAsDouble();
+    }
+
+    public boolean hasPermission(String permission) {
+        return player != null && player.hasPermission(permission);
+    }
+}
@@ -1,6 +1,7 @@
 package com.wdp.quest.config;
 
 import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.util.TextTemplate;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.command.CommandSender;
@@ -9,7 +10,10 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +27,9 @@ import java.util.regex.Pattern;
  * - List support for multi-line messages
  * - Default fallback for missing messages
  * - Language file selection (future: per-player language)
+ * 
+ * Messages are compiled once per load into templates with colors already
+ * translated; rendering only fills in placeholders.
  */
 public class MessageManager {
     
@@ -31,6 +38,10 @@ public class MessageManager {
     private File messagesFile;
     private String currentLanguage = "en";
     
+    // Compiled messages by path, rebuilt on load
+    private final Map<String, TextTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, CompiledList> listTemplates = new ConcurrentHashMap<>();
+    
     // Hex color pattern: &#RRGGBB
     private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
     
@@ -79,6 +90,17 @@ public class MessageManager {
                 new InputStreamReader(defaultStream));
             messages.setDefaults(defaultConfig);
         }
+        
+        // Compile every message in the file up front; defaults compile on first use
+        templates.clear();
+        listTemplates.clear();
+        for (String path : messages.getKeys(true)) {
+            if (messages.isString(path)) {
+                templates.put(path, compile(path));
+            } else if (messages.isList(path)) {
+                listTemplates.put(path, compileList(path));
+            }
+        }
     }
     
     /**
@@ -109,11 +131,7 @@ public class MessageManager {
      * @return The translated message or a "missing message" placeholder
      */
     public String get(String path) {
-        String message = messages.getString(path);
-        if (message == null) {
-            return "§cMissing message: " + path;
-        }
-        return translateColors(message);
+        return template(path).apply();
     }
     
     /**
@@ -123,19 +141,52 @@ public class MessageManager {
      * @return The translated message with placeholders
      */
     public String get(String path, String... placeholders) {
-        String message = get(path);
-        
-        for (int i = 0; i < placeholders.length - 1; i += 2) {
-            message = message.replace("{" + placeholders[i] + "}", placeholders[i + 1]);
-        }
-        
-        return message;
+        return template(path).apply(placeholders);
     }
     
     /**
      * Get a list of messages
      */
     public List<String> getList(String path) {
+        CompiledList list = listTemplate(path);
+        return list.staticLines != null ? list.staticLines : list.apply();
+    }
+    
+    /**
+     * Get a list with placeholders replaced
+     */
+    public List<String> getList(String path, String... placeholders) {
+        CompiledList list = listTemplate(path);
+        return list.staticLines != null ? list.staticLines : list.apply(placeholders);
+    }
+    
+    private TextTemplate template(String path) {
+        TextTemplate template = templates.get(path);
+        if (template == null) {
+            template = compile(path);
+            templates.put(path, template);
+        }
+        return template;
+    }
+    
+    private CompiledList listTemplate(String path) {
+        CompiledList list = listTemplates.get(path);
+        if (list == null) {
+            list = compileList(path);
+            listTemplates.put(path, list);
+        }
+        return list;
+    }
+    
+    private TextTemplate compile(String path) {
+        String message = messages.getString(path);
+        if (message == null) {
+            return TextTemplate.compile("§cMissing message: " + path);
+        }
+        return TextTemplate.compile(translateColors(message));
+    }
+    
+    private CompiledList compileList(String path) {
         List<String> list = messages.getStringList(path);
         if (list.isEmpty()) {
             // Try to get as single string and wrap in list
@@ -145,24 +196,11 @@ public class MessageManager {
                 list.add(single);
             }
         }
-        return list.stream()
-            .map(this::translateColors)
-            .toList();
-    }
-    
-    /**
-     * Get a list with placeholders replaced
-     */
-    public List<String> getList(String path, String... placeholders) {
-        List<String> list = getList(path);
-        
-        return list.stream().map(line -> {
-            String result = line;
-            for (int i = 0; i < placeholders.length - 1; i += 2) {
-                result = result.replace("{" + placeholders[i] + "}", placeholders[i + 1]);
-            }
-            return result;
-        }).toList();
+        List<TextTemplate> lines = new ArrayList<>(list.size());
+        for (String line : list) {
+            lines.add(TextTemplate.compile(translateColors(line)));
+        }
+        return new CompiledList(lines);
     }
     
     /**
@@ -287,4 +325,29 @@ public class MessageManager {
     public List<String> getItemLore(String path, String... placeholders) {
         return getList(path + ".lore", placeholders);
     }
+    
+    /**
+     * Compiled list message. Lists without placeholders are rendered once.
+     */
+    private static final class CompiledList {
+        final List<TextTemplate> lines;
+        final List<String> staticLines;
+        
+        CompiledList(List<TextTemplate> lines) {
+            this.lines = lines;
+            boolean isStatic = true;
+            for (TextTemplate line : lines) {
+                isStatic &= line.isStatic();
+            }
+            this.staticLines = isStatic ? Collections.unmodifiableList(apply()) : null;
+        }
+        
+        List<String> apply(String... placeholders) {
+            List<String> result = new ArrayList<>(lines.size());
+            for (TextTemplate line : lines) {
+                result.add(line.apply(placeholders));
+            }
+            return result;
+        }
+    }
 }
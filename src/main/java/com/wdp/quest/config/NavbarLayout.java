@@ -0,0 +1,168 @@
+package com.wdp.quest.config;
+
+import com.wdp.quest.util.TextTemplate;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * navbar.yml compiled once on load: every menu section becomes a list of
+ * items with resolved material, slots, condition and text templates, so
+ * opening a menu only fills in placeholders. Immutable; a reload builds a
+ * new layout.
+ */
+public final class NavbarLayout {
+
+    private final Map<String, List<Item>> menus;
+    // Menu type -> exception type (e.g. "skill_selection", "no_balance")
+    private final Map<String, String> exceptions;
+
+    private NavbarLayout(Map<String, List<Item>> menus, Map<String, String> exceptions) {
+        this.menus = menus;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * Compile every menu section of a navbar config. Invalid conditions are
+     * logged with their item and hide that item.
+     */
+    public static NavbarLayout compile(FileConfiguration config, ConfigManager configManager, Logger logger) {
+        Map<String, List<Item>> menus = new HashMap<>();
+        Map<String, String> exceptions = new HashMap<>();
+
+        for (String menuKey : config.getKeys(false)) {
+            ConfigurationSection section = config.getConfigurationSection(menuKey);
+            if (section == null) continue;
+
+            if (menuKey.equals("exceptions")) {
+                for (String exceptionType : section.getKeys(false)) {
+                    for (String menuType : section.getStringList(exceptionType)) {
+                        exceptions.putIfAbsent(menuType, exceptionType);
+                    }
+                }
+                continue;
+            }
+
+            List<Item> items = new ArrayList<>();
+            for (String itemKey : section.getKeys(false)) {
+                ConfigurationSection itemSection = section.getConfigurationSection(itemKey);
+                if (itemSection != null) {
+                    items.add(Item.compile(itemKey, itemSection, configManager, logger));
+                }
+            }
+            menus.put(menuKey, Collections.unmodifiableList(items));
+        }
+
+        return new NavbarLayout(menus, exceptions);
+    }
+
+    /**
+     * Items of a menu section in file order, or null if the section doesn't exist
+     */
+    public List<Item> getMenu(String menuKey) {
+        return menus.get(menuKey);
+    }
+
+    /**
+     * Exception type configured for a menu type, or null
+     */
+    public String getException(String menuType) {
+        return exceptions.get(menuType);
+    }
+
+    /**
+     * One compiled navbar item
+     */
+    public static final class Item {
+        public final String key;
+        public final int[] slots;
+        // null when missing or not a valid material
+        public final Material material;
+        // null when display_name isn't set
+        public final TextTemplate displayName;
+        public final List<TextTemplate> lore;
+        public final MenuCondition condition;
+        // No placeholders in name or lore, so the built item never changes
+        public final boolean isStatic;
+
+        private Item(String key, int[] slots, Material material, TextTemplate displayName,
+                     List<TextTemplate> lore, MenuCondition condition) {
+            this.key = key;
+            this.slots = slots;
+            this.material = material;
+            this.displayName = displayName;
+            this.lore = lore;
+            this.condition = condition;
+
+            boolean dynamic = displayName != null && !displayName.isStatic();
+            for (TextTemplate line : lore) {
+                dynamic |= !line.isStatic();
+            }
+            this.isStatic = !dynamic;
+        }
+
+        static Item compile(String key, ConfigurationSection section, ConfigManager configManager, Logger logger) {
+            int[] slots;
+            if (section.isList("slots")) {
+                slots = section.getIntegerList("slots").stream().mapToInt(Integer::intValue).toArray();
+            } else if (section.contains("slot")) {
+                slots = new int[] {section.getInt("slot")};
+            } else {
+                slots = new int[0];
+            }
+
+            String materialName = section.getString("material");
+            Material material = materialName != null ? Material.getMaterial(materialName.toUpperCase()) : null;
+
+            String name = section.getString("display_name");
+            TextTemplate displayName = name != null ? TextTemplate.compile(configManager.colorize(name)) : null;
+
+            List<TextTemplate> lore = new ArrayList<>();
+            for (String line : section.getStringList("lore")) {
+                lore.add(TextTemplate.compile(configManager.colorize(line)));
+            }
+
+            MenuCondition condition;
+            try {
+                condition = MenuCondition.compile(section.getString("condition"));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid condition of navbar.yml item " + section.getCurrentPath() + ", hiding it: " + e.getMessage());
+                condition = context -> false;
+            }
+
+            return new Item(key, slots, material, displayName, Collections.unmodifiableList(lore), condition);
+        }
+
+        /**
+         * First configured slot, or -1
+         */
+        public int getSlot() {
+            return slots.length > 0 ? slots[0] : -1;
+        }
+
+        /**
+         * Display name with placeholders filled in, or null if not configured
+         */
+        public String getDisplayName(Map<String, ?> values) {
+            return displayName != null ? displayName.apply(values) : null;
+        }
+
+        /**
+         * Lore with placeholders filled in
+         */
+        public List<String> getLore(Map<String, ?> values) {
+            List<String> lines = new ArrayList<>(lore.size());
+            for (TextTemplate line : lore) {
+                lines.add(line.apply(values));
+            }
+            return lines;
+        }
+    }
+}
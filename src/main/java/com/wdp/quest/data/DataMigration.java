@@ -0,0 +1,55 @@
+package com.wdp.quest.data;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A data migration that is too large to run during startup. It is applied
+ * by {@link DatabaseMigrator} in small chunks on a background thread, and
+ * the cursor is stored after every chunk so an interrupted run resumes
+ * where it stopped.
+ */
+public abstract class DataMigration {
+
+    private final String name;
+    private final String description;
+
+    protected DataMigration(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Estimate how many units of work the migration covers, used for progress reports
+     */
+    public abstract long countTotal(Connection conn) throws SQLException;
+
+    /**
+     * Migrate one chunk. Runs inside a transaction that also stores the returned cursor.
+     * @param cursor position after the last migrated chunk, empty on the first call
+     * @param limit maximum number of units to process
+     * @return the chunk result; a null cursor marks the migration as finished
+     */
+    public abstract Chunk migrateChunk(Connection conn, String cursor, int limit) throws SQLException;
+
+    /**
+     * Result of one migrated chunk
+     */
+    public static class Chunk {
+        public final String cursor;
+        public final int processed;
+
+        public Chunk(String cursor, int processed) {
+            this.cursor = cursor;
+            this.processed = processed;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.wdp.quest.data;
+
+import com.wdp.quest.WDPQuestPlugin;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Removes quest data and statistics for players who have not been seen for a
+ * configured number of days, so they also drop off the leaderboards. Work is done in small batches, each in its own short
+ * transaction with a pause afterwards, so live saves never wait long on
+ * the write lock. Freed pages are returned with incremental vacuum.
+ */
+public class DataRetentionManager {
+
+    private static final String[] PLAYER_TABLES = {
+        "objective_progress", "quest_cooldowns", "daily_assignments", "player_quests", "player_quest_stats",
+        "player_activity"
+    };
+
+    private final WDPQuestPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private int taskId = -1;
+
+    // Config values
+    private boolean enabled;
+    private long inactiveMillis;
+    private long intervalTicks;
+    private int batchSize;
+    private long batchDelayMs;
+    private boolean archive;
+    private File archiveFile;
+    private int vacuumPagesPerStep;
+
+    public DataRetentionManager(WDPQuestPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("database.retention.enabled", false);
+        inactiveMillis = TimeUnit.DAYS.toMillis(Math.max(1, config.getInt("database.retention.inactive-days", 180)));
+        intervalTicks = Math.max(1, config.getInt("database.retention.interval-hours", 24)) * 60L * 60L * 20L;
+        batchSize = Math.max(1, config.getInt("database.retention.batch-size", 200));
+        batchDelayMs = Math.max(0, config.getLong("database.retention.batch-delay-ms", 50));
+        archive = config.getBoolean("database.retention.archive", true);
+        archiveFile = new File(plugin.getDataFolder(), config.getString("database.retention.archive-file", "data/archive.db"));
+        vacuumPagesPerStep = Math.max(1, config.getInt("database.retention.vacuum-pages-per-step", 256));
+    }
+
+    /**
+     * Start the scheduled retention task
+     */
+    public void start() {
+        stop();
+        if (!enabled) return;
+
+        // First pass a few minutes after startup, when joins have settled
+        taskId = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+            this::run, 6000L, intervalTicks).getTaskId();
+    }
+
+    /**
+     * Stop the scheduled retention task
+     */
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+    }
+
+    /**
+     * Re-read config and reschedule
+     */
+    public void reload() {
+        loadConfig();
+        start();
+    }
+
+    /**
+     * Run one retention pass on the calling thread. Must not be called from the main thread.
+     * @return number of players removed, or -1 if a pass was already running or failed
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+
+        long start = System.currentTimeMillis();
+        long cutoff = start - inactiveMillis;
+        int removed = 0;
+
+        try (Connection conn = databaseManager.getConnection()) {
+            if (archive) {
+                attachArchive(conn);
+            }
+            try {
+                List<String> inactive = findInactive(conn, cutoff);
+                for (int from = 0; from < inactive.size() && plugin.isEnabled(); from += batchSize) {
+                    List<String> batch = new ArrayList<>(inactive.subList(from, Math.min(inactive.size(), from + batchSize)));
+                    batch.removeIf(uuid -> plugin.getPlayerQuestManager().isLoaded(UUID.fromString(uuid)));
+                    if (!batch.isEmpty()) {
+                        removed += purgeBatch(conn, batch, cutoff);
+                    }
+                    pause();
+                }
+            } finally {
+                if (archive) {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute("DETACH DATABASE archive");
+                    }
+                }
+            }
+
+            int freed = incrementalVacuum(conn);
+            if (removed > 0 || freed > 0) {
+                plugin.getLogger().info("Retention removed quest data for " + removed + " inactive players"
+                    + (archive ? " (archived)" : "") + ", freed " + freed + " pages in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            }
+            return removed;
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to run data retention", e);
+            return -1;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Find all players whose latest activity is before the cutoff, once per run; the
+     * indexed last_seen range does most of the work. Falls back to quest timestamps for
+     * players recorded before activity tracking existed. purgeBatch re-checks activity,
+     * so players who join while the run is in progress are kept.
+     */
+    private List<String> findInactive(Connection conn, long cutoff) throws SQLException {
+        String sql = """
+            SELECT uuid FROM player_activity WHERE last_seen < ?
+            UNION
+            SELECT q.uuid FROM player_quests q
+            WHERE NOT EXISTS (SELECT 1 FROM player_activity a WHERE a.uuid = q.uuid)
+            GROUP BY q.uuid
+            HAVING MAX(COALESCE(q.completed_at, q.started_at)) < ?
+            ORDER BY 1
+        """;
+        List<String> result = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, cutoff);
+            stmt.setLong(2, cutoff);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                result.add(rs.getString(1));
+            }
+        }
+        return result;
+    }
+
+    private int purgeBatch(Connection conn, List<String> batch, long cutoff) throws SQLException {
+        String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+        // Guards against a player who joined after the batch was selected
+        String where = " WHERE uuid IN (" + placeholders + ")"
+            + " AND uuid NOT IN (SELECT uuid FROM player_activity WHERE last_seen >= ?)";
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (archive) {
+                long now = System.currentTimeMillis();
+                executeBatch(conn, "INSERT OR REPLACE INTO archive.player_quests"
+                    + " SELECT uuid, quest_id, status, started_at, completed_at, " + now
+                    + " FROM main.player_quests" + where, batch, cutoff);
+                executeBatch(conn, "INSERT OR REPLACE INTO archive.objective_progress"
+                    + " SELECT uuid, quest_id, objective_id, current_amount, completed"
+                    + " FROM main.objective_progress" + where, batch, cutoff);
+                executeBatch(conn, "INSERT OR REPLACE INTO archive.player_quest_stats"
+                    + " SELECT uuid, completed_count, hard_completed, coins_earned, best_streak, last_completion, " + now
+                    + " FROM main.player_quest_stats" + where, batch, cutoff);
+            }
+
+            int players;
+            try (PreparedStatement count = conn.prepareStatement(
+                    "SELECT COUNT(DISTINCT uuid) FROM main.player_quests" + where)) {
+                int i = 1;
+                for (String uuid : batch) {
+                    count.setString(i++, uuid);
+                }
+                count.setLong(i, cutoff);
+                ResultSet rs = count.executeQuery();
+                players = rs.next() ? rs.getInt(1) : 0;
+            }
+            
+            for (String table : PLAYER_TABLES) {
+                executeBatch(conn, "DELETE FROM main." + table + where, batch, cutoff);
+            }
+            conn.commit();
+            for (String uuid : batch) {
+                plugin.getPlayerQuestManager().getOfflineCache().remove(UUID.fromString(uuid));
+            }
+            return players;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private int executeBatch(Connection conn, String sql, List<String> batch, long cutoff) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (String uuid : batch) {
+                stmt.setString(i++, uuid);
+            }
+            stmt.setLong(i, cutoff);
+            return stmt.executeUpdate();
+        }
+    }
+
+    private void attachArchive(Connection conn) throws SQLException {
+        File parent = archiveFile.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        try (PreparedStatement attach = conn.prepareStatement("ATTACH DATABASE ? AS archive")) {
+            attach.setString(1, archiveFile.getAbsolutePath());
+            attach.execute();
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS archive.player_quests (
+                    uuid VARCHAR(36) NOT NULL,
+                    quest_id VARCHAR(64) NOT NULL,
+                    status VARCHAR(16) NOT NULL,
+                    started_at BIGINT NOT NULL,
+                    completed_at BIGINT DEFAULT NULL,
+                    archived_at BIGINT NOT NULL,
+                    PRIMARY KEY (uuid, quest_id)
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS archive.objective_progress (
+                    uuid VARCHAR(36) NOT NULL,
+                    quest_id VARCHAR(64) NOT NULL,
+                    objective_id VARCHAR(64) NOT NULL,
+                    current_amount INT NOT NULL,
+                    completed BOOLEAN NOT NULL,
+                    PRIMARY KEY (uuid, quest_id, objective_id)
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS archive.player_quest_stats (
+                    uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                    completed_count INT NOT NULL,
+                    hard_completed INT NOT NULL,
+                    coins_earned DOUBLE NOT NULL,
+                    best_streak INT NOT NULL,
+                    last_completion BIGINT NOT NULL,
+                    archived_at BIGINT NOT NULL
+                )
+            """);
+        }
+    }
+
+    /**
+     * Release free pages back to the filesystem a few at a time
+     */
+    private int incrementalVacuum(Connection conn) throws SQLException {
+        int freed = 0;
+        try (Statement stmt = conn.createStatement()) {
+            // Without INCREMENTAL mode the pragma is a no-op
+            if (queryInt(stmt, "PRAGMA auto_vacuum") != 2) {
+                return 0;
+            }
+
+            int free;
+            while (plugin.isEnabled() && (free = queryInt(stmt, "PRAGMA freelist_count")) > 0) {
+                int step = Math.min(free, vacuumPagesPerStep);
+                stmt.execute("PRAGMA incremental_vacuum(" + step + ")");
+                freed += step;
+                pause();
+            }
+        }
+        return freed;
+    }
+
+    private int queryInt(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void pause() {
+        if (batchDelayMs <= 0) return;
+        try {
+            Thread.sleep(batchDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
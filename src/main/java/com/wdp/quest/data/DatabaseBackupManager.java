@@ -0,0 +1,229 @@
+package com.wdp.quest.data;
+
+import com.wdp.quest.WDPQuestPlugin;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.core.DB;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Takes online snapshots of quests.db using the SQLite backup API.
+ * Pages are copied in small steps with a pause in between so the
+ * live database is never locked for long, then the snapshot is
+ * compressed and old snapshots are rotated out.
+ */
+public class DatabaseBackupManager {
+
+    private static final String FILE_PREFIX = "quests-";
+
+    private final WDPQuestPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private int taskId = -1;
+
+    // Config values
+    private boolean enabled;
+    private long intervalTicks;
+    private File backupDir;
+    private int keep;
+    private int pagesPerStep;
+    private long stepDelayMs;
+    private boolean compress;
+
+    public DatabaseBackupManager(WDPQuestPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("database.backup.enabled", true);
+        intervalTicks = Math.max(1, config.getInt("database.backup.interval-minutes", 360)) * 60L * 20L;
+        backupDir = new File(plugin.getDataFolder(), config.getString("database.backup.directory", "backups"));
+        keep = Math.max(1, config.getInt("database.backup.keep", 7));
+        pagesPerStep = Math.max(1, config.getInt("database.backup.pages-per-step", 64));
+        stepDelayMs = Math.max(0, config.getLong("database.backup.step-delay-ms", 20));
+        compress = config.getBoolean("database.backup.compress", true);
+    }
+
+    /**
+     * Start the scheduled backup task
+     */
+    public void start() {
+        stop();
+        if (!enabled) return;
+
+        taskId = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+            () -> runBackup(null), intervalTicks, intervalTicks).getTaskId();
+    }
+
+    /**
+     * Stop the scheduled backup task
+     */
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+    }
+
+    /**
+     * Re-read config and reschedule
+     */
+    public void reload() {
+        loadConfig();
+        start();
+    }
+
+    /**
+     * Check if a backup is currently being written
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Run a backup on a background thread
+     * @param callback receives the result, or null if the backup failed or one was already running
+     */
+    public void runBackupAsync(Consumer<BackupResult> callback) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> runBackup(callback));
+    }
+
+    /**
+     * Run a backup on the calling thread. Must not be called from the main thread.
+     */
+    public BackupResult runBackup(Consumer<BackupResult> callback) {
+        if (!running.compareAndSet(false, true)) {
+            if (callback != null) callback.accept(null);
+            return null;
+        }
+
+        BackupResult result = null;
+        try {
+            result = createBackup();
+            plugin.getLogger().info("Database backup written to " + result.file.getName()
+                + " (" + result.pages + " pages, " + formatSize(result.databaseBytes) + " -> "
+                + formatSize(result.fileBytes) + ") in " + result.durationMs + "ms");
+            rotate();
+        } catch (SQLException | IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to back up database", e);
+        } finally {
+            running.set(false);
+        }
+
+        if (callback != null) callback.accept(result);
+        return result;
+    }
+
+    private BackupResult createBackup() throws SQLException, IOException {
+        if (!backupDir.exists()) {
+            backupDir.mkdirs();
+        }
+
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File snapshot = new File(backupDir, FILE_PREFIX + stamp + ".db");
+        File tmp = new File(backupDir, snapshot.getName() + ".tmp");
+
+        long start = System.currentTimeMillis();
+        int[] pageCount = {0};
+
+        try (Connection conn = databaseManager.getConnection()) {
+            DB db = conn.unwrap(SQLiteConnection.class).getDatabase();
+            // The observer runs between steps, so sleeping here gives writers a window on the source db
+            DB.ProgressObserver throttle = (remaining, total) -> {
+                pageCount[0] = total;
+                if (remaining > 0 && stepDelayMs > 0) {
+                    try {
+                        Thread.sleep(stepDelayMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            int rc = db.backup("main", tmp.getAbsolutePath(), throttle, 100, 50, pagesPerStep);
+            if (rc != 0) {
+                throw new SQLException("SQLite backup returned code " + rc);
+            }
+        } catch (SQLException e) {
+            tmp.delete();
+            throw e;
+        }
+
+        long databaseBytes = tmp.length();
+        File target;
+        if (compress) {
+            target = new File(backupDir, snapshot.getName() + ".gz");
+            try (InputStream in = Files.newInputStream(tmp.toPath());
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(target.toPath()))) {
+                in.transferTo(out);
+            } finally {
+                tmp.delete();
+            }
+        } else {
+            target = snapshot;
+            Files.move(tmp.toPath(), target.toPath());
+        }
+
+        return new BackupResult(target, pageCount[0], databaseBytes, target.length(),
+            System.currentTimeMillis() - start);
+    }
+
+    private void rotate() {
+        File[] backups = backupDir.listFiles((dir, name) -> name.startsWith(FILE_PREFIX)
+            && (name.endsWith(".db") || name.endsWith(".db.gz")));
+        if (backups == null || backups.length <= keep) return;
+
+        // Timestamped names sort chronologically
+        Arrays.sort(backups, Comparator.comparing(File::getName));
+        for (int i = 0; i < backups.length - keep; i++) {
+            if (!backups[i].delete()) {
+                plugin.getLogger().warning("Could not delete old backup " + backups[i].getName());
+            }
+        }
+    }
+
+    /**
+     * Format a byte count for display
+     */
+    public static String formatSize(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Outcome of a finished backup
+     */
+    public static class BackupResult {
+        public final File file;
+        public final int pages;
+        public final long databaseBytes;
+        public final long fileBytes;
+        public final long durationMs;
+
+        public BackupResult(File file, int pages, long databaseBytes, long fileBytes, long durationMs) {
+            this.file = file;
+            this.pages = pages;
+            this.databaseBytes = databaseBytes;
+            this.fileBytes = fileBytes;
+            this.durationMs = durationMs;
+        }
+    }
+}
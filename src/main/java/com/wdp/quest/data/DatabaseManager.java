@@ -16,6 +16,7 @@ public class DatabaseManager {
     
     private final WDPQuestPlugin plugin;
     private HikariDataSource dataSource;
+    private DatabaseMigrator migrator;
     
     public DatabaseManager(WDPQuestPlugin plugin) {
         this.plugin = plugin;
@@ -46,8 +47,14 @@ public class DatabaseManager {
             
             dataSource = new HikariDataSource(config);
             
-            // Create tables
-            createTables();
+            // Create or upgrade tables
+            migrator = new DatabaseMigrator(plugin, this);
+            migrator.migrate();
+            
+            // Retention frees pages with incremental vacuum, which needs the matching auto_vacuum mode
+            if (plugin.getConfig().getBoolean("database.retention.enabled", false)) {
+                enableIncrementalVacuum();
+            }
             
             plugin.getLogger().info("Database initialized successfully.");
             return true;
@@ -57,53 +64,28 @@ public class DatabaseManager {
         }
     }
     
-    private void createTables() throws SQLException {
-        try (Connection conn = getConnection()) {
-            // Player quest progress table
-            conn.createStatement().execute("""
-                CREATE TABLE IF NOT EXISTS player_quests (
-                    uuid VARCHAR(36) NOT NULL,
-                    quest_id VARCHAR(64) NOT NULL,
-                    status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE',
-                    started_at BIGINT NOT NULL,
-                    completed_at BIGINT DEFAULT NULL,
-                    PRIMARY KEY (uuid, quest_id)
-                )
-            """);
-            
-            // Objective progress table
-            conn.createStatement().execute("""
-                CREATE TABLE IF NOT EXISTS objective_progress (
-                    uuid VARCHAR(36) NOT NULL,
-                    quest_id VARCHAR(64) NOT NULL,
-                    objective_id VARCHAR(64) NOT NULL,
-                    current_amount INT NOT NULL DEFAULT 0,
-                    completed BOOLEAN NOT NULL DEFAULT FALSE,
-                    PRIMARY KEY (uuid, quest_id, objective_id),
-                    FOREIGN KEY (uuid, quest_id) REFERENCES player_quests(uuid, quest_id) ON DELETE CASCADE
-                )
-            """);
-            
-            // Quest cooldowns table
-            conn.createStatement().execute("""
-                CREATE TABLE IF NOT EXISTS quest_cooldowns (
-                    uuid VARCHAR(36) NOT NULL,
-                    quest_id VARCHAR(64) NOT NULL,
-                    cooldown_until BIGINT NOT NULL,
-                    PRIMARY KEY (uuid, quest_id)
-                )
-            """);
+    /**
+     * Switch the database to incremental auto-vacuum. Changing the mode on an
+     * existing file only takes effect after a full VACUUM, which runs once here.
+     */
+    private void enableIncrementalVacuum() throws SQLException {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            ResultSet rs = stmt.executeQuery("PRAGMA auto_vacuum");
+            int mode = rs.next() ? rs.getInt(1) : 0;
+            rs.close();
+            if (mode == 2) return;
             
-            // Create indexes
-            conn.createStatement().execute(
-                "CREATE INDEX IF NOT EXISTS idx_player_quests_uuid ON player_quests(uuid)"
-            );
-            conn.createStatement().execute(
-                "CREATE INDEX IF NOT EXISTS idx_player_quests_status ON player_quests(status)"
-            );
+            plugin.getLogger().info("Switching quests.db to incremental auto-vacuum (one-time VACUUM)...");
+            stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            stmt.execute("VACUUM");
         }
     }
     
+    public DatabaseMigrator getMigrator() {
+        return migrator;
+    }
+    
     public Connection getConnection() throws SQLException {
         return dataSource.getConnection();
     }
@@ -196,6 +178,25 @@ public class DatabaseManager {
             plugin.getLogger().log(Level.WARNING, "Failed to load cooldowns for " + uuid, e);
         }
         
+        data.setLifetimeCompletedCount(loadPlayerStats(uuid).getCompletedCount());
+        
+        // Load daily assignment and recent history
+        int historySize = Math.max(0, plugin.getConfig().getInt("daily-quests.history-size", 15));
+        data.setRecentQuests(new RecentQuests(historySize));
+        String dailySql = "SELECT day, quest_ids, recent_ids FROM daily_assignments WHERE uuid = ? ORDER BY day";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(dailySql)) {
+            stmt.setString(1, uuid.toString());
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                data.setDailyAssignment(rs.getLong("day"), unpackQuestIds(rs.getString("quest_ids")),
+                    RecentQuests.unpack(rs.getString("recent_ids"), historySize));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load daily assignment for " + uuid, e);
+        }
+        
         return data;
     }
     
@@ -240,6 +241,179 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Persist a quest completion in one transaction: the quest row, its cooldown
+     * and the incremental update of the player's statistics.
+     * @param cooldownUntil cooldown expiry, or null if the quest has none
+     * @param questDay the player's quest day as an epoch day, used for streaks
+     */
+    public void saveCompletion(UUID uuid, PlayerQuestData.QuestProgress progress, Long cooldownUntil,
+                               boolean hardQuest, double coinsEarned, long questDay) {
+        String questSql = """
+            INSERT OR REPLACE INTO player_quests (uuid, quest_id, status, started_at, completed_at)
+            VALUES (?, ?, ?, ?, ?)
+        """;
+        String cooldownSql = "INSERT OR REPLACE INTO quest_cooldowns (uuid, quest_id, cooldown_until) VALUES (?, ?, ?)";
+        // A completion on the day after the last one extends the streak, a gap resets it
+        String statsSql = """
+            INSERT INTO player_quest_stats
+                (uuid, completed_count, hard_completed, coins_earned, current_streak, best_streak, last_completion, streak_day)
+            VALUES (?, 1, ?, ?, 1, 1, ?, ?)
+            ON CONFLICT(uuid) DO UPDATE SET
+                completed_count = completed_count + 1,
+                hard_completed = hard_completed + excluded.hard_completed,
+                coins_earned = coins_earned + excluded.coins_earned,
+                current_streak = CASE
+                    WHEN streak_day = excluded.streak_day THEN current_streak
+                    WHEN streak_day = excluded.streak_day - 1 THEN current_streak + 1
+                    ELSE 1 END,
+                best_streak = MAX(best_streak, CASE
+                    WHEN streak_day = excluded.streak_day THEN current_streak
+                    WHEN streak_day = excluded.streak_day - 1 THEN current_streak + 1
+                    ELSE 1 END),
+                last_completion = excluded.last_completion,
+                streak_day = excluded.streak_day
+        """;
+        
+        long completedAt = progress.getCompletedAt() != null ? progress.getCompletedAt() : System.currentTimeMillis();
+        
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement quest = conn.prepareStatement(questSql);
+                 PreparedStatement stats = conn.prepareStatement(statsSql)) {
+                quest.setString(1, uuid.toString());
+                quest.setString(2, progress.getQuestId());
+                quest.setString(3, progress.getStatus().name());
+                quest.setLong(4, progress.getStartedAt());
+                quest.setObject(5, progress.getCompletedAt());
+                quest.executeUpdate();
+                
+                if (cooldownUntil != null) {
+                    try (PreparedStatement cooldown = conn.prepareStatement(cooldownSql)) {
+                        cooldown.setString(1, uuid.toString());
+                        cooldown.setString(2, progress.getQuestId());
+                        cooldown.setLong(3, cooldownUntil);
+                        cooldown.executeUpdate();
+                    }
+                }
+                
+                stats.setString(1, uuid.toString());
+                stats.setInt(2, hardQuest ? 1 : 0);
+                stats.setDouble(3, coinsEarned);
+                stats.setLong(4, completedAt);
+                stats.setLong(5, questDay);
+                stats.executeUpdate();
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save quest completion", e);
+        }
+    }
+    
+    /**
+     * Load a player's quest statistics
+     */
+    public PlayerQuestStats loadPlayerStats(UUID uuid) {
+        String sql = """
+            SELECT completed_count, hard_completed, coins_earned, current_streak, best_streak, last_completion, streak_day
+            FROM player_quest_stats WHERE uuid = ?
+        """;
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, uuid.toString());
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return readStats(uuid, rs, plugin.getDailyQuestManager().getEarliestQuestDay());
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load quest stats for " + uuid, e);
+        }
+        return PlayerQuestStats.empty(uuid);
+    }
+    
+    /**
+     * Get the top players for a ranking, highest first
+     */
+    public List<PlayerQuestStats> getTopPlayers(PlayerQuestStats.Ranking ranking, int limit) {
+        String sql = "SELECT uuid, completed_count, hard_completed, coins_earned, current_streak, best_streak, last_completion, streak_day"
+            + " FROM player_quest_stats ORDER BY " + ranking.getColumn() + " DESC LIMIT ?";
+        List<PlayerQuestStats> result = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            ResultSet rs = stmt.executeQuery();
+            long today = plugin.getDailyQuestManager().getEarliestQuestDay();
+            while (rs.next()) {
+                result.add(readStats(UUID.fromString(rs.getString("uuid")), rs, today));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load top players", e);
+        }
+        return result;
+    }
+    
+    private PlayerQuestStats readStats(UUID uuid, ResultSet rs, long today) throws SQLException {
+        // A streak is only current if the last completion was on this or the previous quest day
+        int currentStreak = rs.getLong("streak_day") >= today - 1 ? rs.getInt("current_streak") : 0;
+        return new PlayerQuestStats(uuid,
+            rs.getInt("completed_count"),
+            rs.getInt("hard_completed"),
+            rs.getDouble("coins_earned"),
+            currentStreak,
+            rs.getInt("best_streak"),
+            rs.getLong("last_completion"));
+    }
+    
+    /**
+     * Store a player's daily quests for an epoch day and their recent history.
+     * Other days are kept, so a set generated ahead for tomorrow doesn't replace
+     * today's; days before the previous one are pruned.
+     */
+    public void saveDailyAssignment(UUID uuid, long day, List<String> questIds, String recentIds) {
+        String sql = "INSERT OR REPLACE INTO daily_assignments (uuid, day, quest_ids, recent_ids) VALUES (?, ?, ?, ?)";
+        String pruneSql = "DELETE FROM daily_assignments WHERE uuid = ? AND day < ?";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement prune = conn.prepareStatement(pruneSql)) {
+            stmt.setString(1, uuid.toString());
+            stmt.setLong(2, day);
+            stmt.setString(3, String.join(",", questIds));
+            stmt.setString(4, recentIds);
+            stmt.executeUpdate();
+            
+            prune.setString(1, uuid.toString());
+            prune.setLong(2, day - 1);
+            prune.executeUpdate();
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save daily assignment", e);
+        }
+    }
+    
+    private static List<String> unpackQuestIds(String packed) {
+        return packed == null || packed.isEmpty() ? List.of() : List.of(packed.split(","));
+    }
+    
+    /**
+     * Record that a player was seen now
+     */
+    public void touchPlayer(UUID uuid) {
+        String sql = "INSERT OR REPLACE INTO player_activity (uuid, last_seen) VALUES (?, ?)";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, uuid.toString());
+            stmt.setLong(2, System.currentTimeMillis());
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to update player activity", e);
+        }
+    }
+    
     public void clearExpiredCooldowns() {
         String sql = "DELETE FROM quest_cooldowns WHERE cooldown_until < ?";
         try (Connection conn = getConnection();
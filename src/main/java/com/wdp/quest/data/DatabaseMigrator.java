@@ -0,0 +1,674 @@
+package com.wdp.quest.data;
+
+import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.quest.Quest;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+/**
+ * Versioned schema migrations for quests.db.
+ *
+ * Schema steps are small DDL changes applied in order during startup, each in
+ * its own transaction together with its row in schema_version. Data migrations
+ * that touch many rows are registered separately and run in the background in
+ * resumable chunks while the server stays online.
+ */
+public class DatabaseMigrator {
+
+    private final WDPQuestPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final List<SchemaStep> steps = new ArrayList<>();
+    private final List<DataMigration> dataMigrations = new ArrayList<>();
+    private final Map<String, MigrationStatus> statuses = new LinkedHashMap<>();
+    private int schemaVersion;
+    private int taskId = -1;
+
+    public DatabaseMigrator(WDPQuestPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        registerSteps();
+        registerDataMigrations();
+    }
+
+    private void registerSteps() {
+        step(1, "Create base quest tables", stmt -> {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS player_quests (
+                    uuid VARCHAR(36) NOT NULL,
+                    quest_id VARCHAR(64) NOT NULL,
+                    status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE',
+                    started_at BIGINT NOT NULL,
+                    completed_at BIGINT DEFAULT NULL,
+                    PRIMARY KEY (uuid, quest_id)
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS objective_progress (
+                    uuid VARCHAR(36) NOT NULL,
+                    quest_id VARCHAR(64) NOT NULL,
+                    objective_id VARCHAR(64) NOT NULL,
+                    current_amount INT NOT NULL DEFAULT 0,
+                    completed BOOLEAN NOT NULL DEFAULT FALSE,
+                    PRIMARY KEY (uuid, quest_id, objective_id),
+                    FOREIGN KEY (uuid, quest_id) REFERENCES player_quests(uuid, quest_id) ON DELETE CASCADE
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS quest_cooldowns (
+                    uuid VARCHAR(36) NOT NULL,
+                    quest_id VARCHAR(64) NOT NULL,
+                    cooldown_until BIGINT NOT NULL,
+                    PRIMARY KEY (uuid, quest_id)
+                )
+            """);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_quests_uuid ON player_quests(uuid)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_quests_status ON player_quests(status)");
+        });
+
+        step(2, "Track player activity", stmt -> stmt.execute("""
+            CREATE TABLE IF NOT EXISTS player_activity (
+                uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                last_seen BIGINT NOT NULL
+            )
+        """));
+
+        step(3, "Index activity and cooldown expiry", stmt -> {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_activity_last_seen ON player_activity(last_seen)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_quest_cooldowns_until ON quest_cooldowns(cooldown_until)");
+        });
+
+        step(4, "Add per-player quest statistics", stmt -> {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS player_quest_stats (
+                    uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                    completed_count INT NOT NULL DEFAULT 0,
+                    hard_completed INT NOT NULL DEFAULT 0,
+                    coins_earned DOUBLE NOT NULL DEFAULT 0,
+                    current_streak INT NOT NULL DEFAULT 0,
+                    best_streak INT NOT NULL DEFAULT 0,
+                    last_completion BIGINT NOT NULL DEFAULT 0,
+                    streak_day BIGINT NOT NULL DEFAULT 0
+                )
+            """);
+            for (PlayerQuestStats.Ranking ranking : PlayerQuestStats.Ranking.values()) {
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_quest_stats_" + ranking.getColumn()
+                    + " ON player_quest_stats(" + ranking.getColumn() + " DESC)");
+            }
+        });
+
+        step(5, "Persist daily quest assignments", stmt -> stmt.execute("""
+            CREATE TABLE IF NOT EXISTS daily_assignments (
+                uuid VARCHAR(36) NOT NULL,
+                day BIGINT NOT NULL,
+                quest_ids TEXT NOT NULL,
+                recent_ids TEXT NOT NULL DEFAULT '',
+                PRIMARY KEY (uuid, day)
+            )
+        """));
+    }
+
+    private void registerDataMigrations() {
+        dataMigrations.add(new BackfillActivity());
+        dataMigrations.add(new PurgeOrphanObjectives());
+        dataMigrations.add(new BackfillStats(questId -> {
+            Quest quest = plugin.getQuestManager().getQuest(questId);
+            return quest != null && quest.isHardQuest();
+        }, completedAt -> plugin.getDailyQuestManager().getQuestDay(completedAt)));
+    }
+
+    private void step(int version, String description, SchemaAction action) {
+        steps.add(new SchemaStep(version, description, action));
+    }
+
+    /**
+     * Bring the schema up to the latest version
+     */
+    public void migrate() throws SQLException {
+        try (Connection conn = databaseManager.getConnection()) {
+            for (SchemaStep step : migrate(conn)) {
+                plugin.getLogger().info("Applied schema migration v" + step.version + ": " + step.description);
+            }
+        }
+    }
+
+    /**
+     * Apply pending schema steps on a connection
+     * @return the steps that were applied, in order
+     */
+    List<SchemaStep> migrate(Connection conn) throws SQLException {
+        List<SchemaStep> applied = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT NOT NULL PRIMARY KEY,
+                    description VARCHAR(128) NOT NULL,
+                    applied_at BIGINT NOT NULL
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS data_migrations (
+                    name VARCHAR(64) NOT NULL PRIMARY KEY,
+                    cursor_value TEXT NOT NULL DEFAULT '',
+                    processed BIGINT NOT NULL DEFAULT 0,
+                    total BIGINT NOT NULL DEFAULT 0,
+                    completed BOOLEAN NOT NULL DEFAULT FALSE,
+                    updated_at BIGINT NOT NULL
+                )
+            """);
+
+            ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version");
+            schemaVersion = rs.next() ? rs.getInt(1) : 0;
+            rs.close();
+        }
+
+        for (SchemaStep step : steps) {
+            if (step.version <= schemaVersion) continue;
+            applyStep(conn, step);
+            schemaVersion = step.version;
+            applied.add(step);
+        }
+        return applied;
+    }
+
+    private void applyStep(Connection conn, SchemaStep step) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)")) {
+            step.action.apply(stmt);
+            insert.setInt(1, step.version);
+            insert.setString(2, step.description);
+            insert.setLong(3, System.currentTimeMillis());
+            insert.executeUpdate();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration v" + step.version + " failed", e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Start running pending data migrations in the background
+     */
+    public void start() {
+        taskId = plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin,
+            this::runDataMigrations, 100L).getTaskId();
+    }
+
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+    }
+
+    private void runDataMigrations() {
+        int batchSize = Math.max(1, plugin.getConfig().getInt("database.migrations.batch-size", 500));
+        long delayMs = Math.max(0, plugin.getConfig().getLong("database.migrations.batch-delay-ms", 50));
+
+        try (Connection conn = databaseManager.getConnection()) {
+            loadStatuses(conn);
+
+            for (DataMigration migration : dataMigrations) {
+                MigrationStatus status;
+                synchronized (statuses) {
+                    status = statuses.get(migration.getName());
+                }
+                if (status.completed) continue;
+                if (!plugin.isEnabled()) return;
+
+                runDataMigration(conn, migration, status, batchSize, delayMs);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Background data migration failed, it will resume on next start", e);
+        }
+    }
+
+    private void loadStatuses(Connection conn) throws SQLException {
+        Map<String, MigrationStatus> loaded = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT name, cursor_value, processed, total, completed FROM data_migrations")) {
+            while (rs.next()) {
+                MigrationStatus status = new MigrationStatus(rs.getString("name"), "");
+                status.cursor = rs.getString("cursor_value");
+                status.processed = rs.getLong("processed");
+                status.total = rs.getLong("total");
+                status.completed = rs.getBoolean("completed");
+                loaded.put(status.name, status);
+            }
+        }
+
+        for (DataMigration migration : dataMigrations) {
+            MigrationStatus status = loaded.get(migration.getName());
+            if (status == null) {
+                status = new MigrationStatus(migration.getName(), migration.getDescription());
+                status.total = migration.countTotal(conn);
+                saveStatus(conn, status);
+            }
+            status.description = migration.getDescription();
+            synchronized (statuses) {
+                statuses.put(migration.getName(), status);
+            }
+        }
+    }
+
+    private void runDataMigration(Connection conn, DataMigration migration, MigrationStatus status,
+                                  int batchSize, long delayMs) throws SQLException {
+        if (status.processed == 0) {
+            plugin.getLogger().info("Starting data migration '" + migration.getName() + "': "
+                + migration.getDescription() + " (" + status.total + " to process)");
+        } else {
+            plugin.getLogger().info("Resuming data migration '" + migration.getName() + "' at "
+                + status.getPercent() + "%");
+        }
+
+        long start = System.currentTimeMillis();
+        int lastReported = status.getPercent() / 10;
+
+        while (!status.completed) {
+            if (!plugin.isEnabled()) return;
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                DataMigration.Chunk chunk = migration.migrateChunk(conn, status.cursor, batchSize);
+                status.processed += chunk.processed;
+                if (chunk.cursor == null) {
+                    status.completed = true;
+                    status.processed = Math.max(status.processed, status.total);
+                } else {
+                    status.cursor = chunk.cursor;
+                }
+                saveStatus(conn, status);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+            int reported = status.getPercent() / 10;
+            if (reported > lastReported && !status.completed) {
+                lastReported = reported;
+                plugin.getLogger().info("Data migration '" + migration.getName() + "' " + status.getPercent() + "% complete");
+            }
+
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        plugin.getLogger().info("Data migration '" + migration.getName() + "' finished in " + duration + "ms");
+        notifyAdmins(migration.getName(), duration);
+    }
+
+    private void saveStatus(Connection conn, MigrationStatus status) throws SQLException {
+        String sql = """
+            INSERT OR REPLACE INTO data_migrations (name, cursor_value, processed, total, completed, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, status.name);
+            stmt.setString(2, status.cursor);
+            stmt.setLong(3, status.processed);
+            stmt.setLong(4, status.total);
+            stmt.setBoolean(5, status.completed);
+            stmt.setLong(6, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+    }
+
+    private void notifyAdmins(String name, long duration) {
+        if (!plugin.isEnabled()) return;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            String message = plugin.getMessages().get("commands.admin.migration-complete",
+                "migration", name, "time", String.valueOf(duration));
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (player.hasPermission("wdp.quest.admin")) {
+                    player.sendMessage(message);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the current schema version
+     */
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * Get the latest schema version known to this build
+     */
+    public int getLatestVersion() {
+        return steps.isEmpty() ? 0 : steps.get(steps.size() - 1).version;
+    }
+
+    /**
+     * Get the status of all data migrations, in run order
+     */
+    public List<MigrationStatus> getStatuses() {
+        synchronized (statuses) {
+            return Collections.unmodifiableList(new ArrayList<>(statuses.values()));
+        }
+    }
+
+    /**
+     * Progress of a background data migration
+     */
+    public static class MigrationStatus {
+        private final String name;
+        private volatile String description;
+        private volatile String cursor = "";
+        private volatile long processed;
+        private volatile long total;
+        private volatile boolean completed;
+
+        MigrationStatus(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public int getPercent() {
+            if (completed) return 100;
+            if (total <= 0) return 0;
+            return (int) Math.min(99, processed * 100 / total);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SchemaAction {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    private static class SchemaStep {
+        final int version;
+        final String description;
+        final SchemaAction action;
+
+        SchemaStep(int version, String description, SchemaAction action) {
+            this.version = version;
+            this.description = description;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Give players recorded before activity tracking a last_seen from their quest history,
+     * so retention can rely on player_activity alone
+     */
+    private static class BackfillActivity extends DataMigration {
+
+        BackfillActivity() {
+            super("backfill-activity", "Backfill player activity from quest history");
+        }
+
+        @Override
+        public long countTotal(Connection conn) throws SQLException {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(DISTINCT uuid) FROM player_quests")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+
+        @Override
+        public Chunk migrateChunk(Connection conn, String cursor, int limit) throws SQLException {
+            String last = null;
+            int count = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT DISTINCT uuid FROM player_quests WHERE uuid > ? ORDER BY uuid LIMIT ?")) {
+                stmt.setString(1, cursor);
+                stmt.setInt(2, limit);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    last = rs.getString(1);
+                    count++;
+                }
+            }
+            if (last == null) {
+                return new Chunk(null, 0);
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                    INSERT OR IGNORE INTO player_activity (uuid, last_seen)
+                    SELECT uuid, MAX(COALESCE(completed_at, started_at)) FROM player_quests
+                    WHERE uuid > ? AND uuid <= ?
+                    GROUP BY uuid
+                """)) {
+                stmt.setString(1, cursor);
+                stmt.setString(2, last);
+                stmt.executeUpdate();
+            }
+            return new Chunk(count < limit ? null : last, count);
+        }
+    }
+
+    /**
+     * Remove objective rows whose quest row was deleted. SQLite foreign keys are off,
+     * so abandoning a quest never cascaded to objective_progress.
+     */
+    private static class PurgeOrphanObjectives extends DataMigration {
+
+        PurgeOrphanObjectives() {
+            super("purge-orphan-objectives", "Remove objective progress left behind by abandoned quests");
+        }
+
+        @Override
+        public long countTotal(Connection conn) throws SQLException {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(rowid), 0) FROM objective_progress")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+
+        @Override
+        public Chunk migrateChunk(Connection conn, String cursor, int limit) throws SQLException {
+            long from = cursor.isEmpty() ? 0 : Long.parseLong(cursor);
+            long to = from + limit;
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                    DELETE FROM objective_progress
+                    WHERE rowid > ? AND rowid <= ?
+                    AND NOT EXISTS (
+                        SELECT 1 FROM player_quests q
+                        WHERE q.uuid = objective_progress.uuid AND q.quest_id = objective_progress.quest_id
+                    )
+                """)) {
+                stmt.setLong(1, from);
+                stmt.setLong(2, to);
+                stmt.executeUpdate();
+            }
+
+            long max;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(rowid), 0) FROM objective_progress")) {
+                max = rs.next() ? rs.getLong(1) : 0;
+            }
+            return new Chunk(to >= max ? null : String.valueOf(to), limit);
+        }
+    }
+
+    /**
+     * Build player_quest_stats rows from existing completions. Completions since the
+     * stats table was created already went through live upserts, so only older ones
+     * are added to the counts, and streaks are recomputed from the completion days
+     * together with the run the live row has recorded. Coins earned before the table
+     * existed are unknown and stay as they are.
+     */
+    static class BackfillStats extends DataMigration {
+
+        private final Predicate<String> isHardQuest;
+        private final LongUnaryOperator questDay;
+
+        /**
+         * @param questDay maps a completion time to its quest day, as the live stats do
+         */
+        BackfillStats(Predicate<String> isHardQuest, LongUnaryOperator questDay) {
+            super("backfill-stats", "Build quest statistics from completion history");
+            this.isHardQuest = isHardQuest;
+            this.questDay = questDay;
+        }
+
+        @Override
+        public long countTotal(Connection conn) throws SQLException {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(DISTINCT uuid) FROM player_quests WHERE status = 'COMPLETED'")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+
+        @Override
+        public Chunk migrateChunk(Connection conn, String cursor, int limit) throws SQLException {
+            List<String> uuids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                    SELECT DISTINCT uuid FROM player_quests
+                    WHERE status = 'COMPLETED' AND uuid > ?
+                    ORDER BY uuid LIMIT ?
+                """)) {
+                stmt.setString(1, cursor);
+                stmt.setInt(2, limit);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    uuids.add(rs.getString(1));
+                }
+            }
+            if (uuids.isEmpty()) {
+                return new Chunk(null, 0);
+            }
+
+            long liveSince = statsCreatedAt(conn);
+            try (PreparedStatement select = conn.prepareStatement("""
+                    SELECT quest_id, completed_at FROM player_quests
+                    WHERE uuid = ? AND status = 'COMPLETED' AND completed_at IS NOT NULL
+                """);
+                 PreparedStatement live = conn.prepareStatement(
+                    "SELECT current_streak, best_streak, streak_day FROM player_quest_stats WHERE uuid = ?");
+                 PreparedStatement upsert = conn.prepareStatement("""
+                    INSERT INTO player_quest_stats
+                    (uuid, completed_count, hard_completed, coins_earned, current_streak, best_streak, last_completion, streak_day)
+                    VALUES (?, ?, ?, 0, ?, ?, ?, ?)
+                    ON CONFLICT(uuid) DO UPDATE SET
+                        completed_count = completed_count + excluded.completed_count,
+                        hard_completed = hard_completed + excluded.hard_completed,
+                        current_streak = CASE WHEN streak_day > excluded.streak_day
+                            THEN current_streak ELSE excluded.current_streak END,
+                        best_streak = MAX(best_streak, excluded.best_streak),
+                        last_completion = MAX(last_completion, excluded.last_completion),
+                        streak_day = MAX(streak_day, excluded.streak_day)
+                """)) {
+                for (String uuid : uuids) {
+                    select.setString(1, uuid);
+                    ResultSet rs = select.executeQuery();
+
+                    int completed = 0;
+                    int hard = 0;
+                    long last = 0;
+                    TreeSet<Long> days = new TreeSet<>();
+                    while (rs.next()) {
+                        long completedAt = rs.getLong("completed_at");
+                        last = Math.max(last, completedAt);
+                        days.add(questDay.applyAsLong(completedAt));
+                        if (completedAt >= liveSince) continue;
+                        completed++;
+                        if (isHardQuest.test(rs.getString("quest_id"))) hard++;
+                    }
+                    rs.close();
+
+                    // A live row vouches for a completion on every day of its current run,
+                    // even if repeat completions have since replaced those quest rows
+                    int liveBest = 0;
+                    live.setString(1, uuid);
+                    rs = live.executeQuery();
+                    if (rs.next()) {
+                        long streakDay = rs.getLong("streak_day");
+                        for (int i = 0; i < rs.getInt("current_streak"); i++) {
+                            days.add(streakDay - i);
+                        }
+                        liveBest = rs.getInt("best_streak");
+                    }
+                    rs.close();
+
+                    // Walk the distinct completion days to find the longest and the latest run
+                    int best = liveBest;
+                    int run = 0;
+                    long previous = Long.MIN_VALUE;
+                    for (long day : days) {
+                        run = day == previous + 1 ? run + 1 : 1;
+                        best = Math.max(best, run);
+                        previous = day;
+                    }
+
+                    upsert.setString(1, uuid);
+                    upsert.setInt(2, completed);
+                    upsert.setInt(3, hard);
+                    upsert.setInt(4, run);
+                    upsert.setInt(5, best);
+                    upsert.setLong(6, last);
+                    upsert.setLong(7, days.isEmpty() ? 0 : days.last());
+                    upsert.executeUpdate();
+                }
+            }
+
+            String last = uuids.get(uuids.size() - 1);
+            return new Chunk(uuids.size() < limit ? null : last, uuids.size());
+        }
+
+        /**
+         * When schema v4 created player_quest_stats; every completion since was counted live
+         */
+        private static long statsCreatedAt(Connection conn) throws SQLException {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT applied_at FROM schema_version WHERE version = 4")) {
+                return rs.next() ? rs.getLong(1) : Long.MAX_VALUE;
+            }
+        }
+    }
+}
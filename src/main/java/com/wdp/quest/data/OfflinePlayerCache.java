@@ -0,0 +1,140 @@
+package com.wdp.quest.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Size- and time-bounded LRU cache for quest data of players who are not online.
+ * Entries expire after a period without access and the least recently used
+ * entry is evicted once the cache is full.
+ */
+public class OfflinePlayerCache {
+
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxSize;
+    private long ttlMillis;
+
+    // Stats
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public OfflinePlayerCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get cached data, or null if absent or expired
+     */
+    public synchronized PlayerQuestData get(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        long now = System.currentTimeMillis();
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (now - entry.lastAccess > ttlMillis) {
+            entries.remove(uuid);
+            expirations++;
+            misses++;
+            return null;
+        }
+        entry.lastAccess = now;
+        hits++;
+        return entry.data;
+    }
+
+    public synchronized void put(UUID uuid, PlayerQuestData data) {
+        long now = System.currentTimeMillis();
+        entries.put(uuid, new Entry(data, now));
+        trim(now);
+    }
+
+    /**
+     * Remove and return an entry, e.g. when the player comes online
+     */
+    public synchronized PlayerQuestData remove(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        return entry != null ? entry.data : null;
+    }
+
+    /**
+     * Drop expired entries and shrink to the size limit
+     */
+    public synchronized void cleanUp() {
+        trim(System.currentTimeMillis());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized void resize(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        trim(System.currentTimeMillis());
+    }
+
+    private void trim(long now) {
+        // Access order puts the least recently used entries first
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (now - entry.lastAccess > ttlMillis) {
+                it.remove();
+                expirations++;
+            } else if (entries.size() > maxSize) {
+                it.remove();
+                evictions++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Get hit rate as a percentage
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : hits * 100.0 / total;
+    }
+
+    private static class Entry {
+        final PlayerQuestData data;
+        long lastAccess;
+
+        Entry(PlayerQuestData data, long lastAccess) {
+            this.data = data;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
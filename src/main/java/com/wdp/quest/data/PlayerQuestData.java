@@ -11,6 +11,10 @@ public class PlayerQuestData {
     private final Map<String, QuestProgress> questProgress = new HashMap<>();
     private final Map<String, Long> cooldowns = new HashMap<>();
     private String trackedQuestId;
+    // Keyed by epoch day: the current day and, shortly before a reset, the next one
+    private final NavigableMap<Long, DailyAssignment> dailyAssignments = new TreeMap<>();
+    private RecentQuests recentQuests = new RecentQuests(0);
+    private int lifetimeCompleted;
     
     public PlayerQuestData(UUID uuid) {
         this.uuid = uuid;
@@ -84,6 +88,23 @@ public class PlayerQuestData {
         return count;
     }
     
+    /**
+     * Completions over the player's lifetime, repeats included. Seeded from
+     * player_quest_stats on load; {@link #getCompletedQuestCount()} only counts
+     * the quests currently marked completed.
+     */
+    public int getLifetimeCompletedCount() {
+        return lifetimeCompleted;
+    }
+    
+    public void setLifetimeCompletedCount(int lifetimeCompleted) {
+        this.lifetimeCompleted = lifetimeCompleted;
+    }
+    
+    public void incrementLifetimeCompleted() {
+        lifetimeCompleted++;
+    }
+    
     public void removeQuest(String questId) {
         questProgress.remove(questId);
     }
@@ -119,6 +140,40 @@ public class PlayerQuestData {
         return questId.equals(trackedQuestId);
     }
     
+    // Daily assignment
+    
+    /**
+     * Get the quest ids assigned for the given epoch day, or null if none were stored
+     */
+    public List<String> getDailyAssignment(long day) {
+        DailyAssignment assignment = dailyAssignments.get(day);
+        return assignment != null ? assignment.questIds : null;
+    }
+    
+    /**
+     * Store the quests of an epoch day with the history including them; days
+     * before the previous one are dropped
+     */
+    public void setDailyAssignment(long day, List<String> questIds, RecentQuests recent) {
+        dailyAssignments.put(day, new DailyAssignment(questIds, recent));
+        dailyAssignments.headMap(day - 1).clear();
+    }
+    
+    /**
+     * Quests offered to the player up to and including the given epoch day
+     */
+    public RecentQuests getRecentQuests(long day) {
+        Map.Entry<Long, DailyAssignment> entry = dailyAssignments.floorEntry(day);
+        return entry != null ? entry.getValue().recent : recentQuests;
+    }
+    
+    /**
+     * Set the history used before any daily assignment is stored
+     */
+    public void setRecentQuests(RecentQuests recentQuests) {
+        this.recentQuests = recentQuests;
+    }
+    
     /**
      * Quest status enum
      */
@@ -254,4 +309,14 @@ public class PlayerQuestData {
         public void setCurrentAmount(int amount) { this.currentAmount = amount; }
         public void setCompleted(boolean completed) { this.completed = completed; }
     }
+    
+    private static class DailyAssignment {
+        final List<String> questIds;
+        final RecentQuests recent;
+        
+        DailyAssignment(List<String> questIds, RecentQuests recent) {
+            this.questIds = questIds;
+            this.recent = recent;
+        }
+    }
 }
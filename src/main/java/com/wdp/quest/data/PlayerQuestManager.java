@@ -6,9 +6,12 @@ import com.wdp.quest.quest.QuestObjective;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages player quest data in memory with database persistence
@@ -16,30 +19,142 @@ import java.util.concurrent.ConcurrentHashMap;
 public class PlayerQuestManager {
     
     private final WDPQuestPlugin plugin;
+    // Online players stay pinned here until they quit
     private final Map<UUID, PlayerQuestData> playerData = new ConcurrentHashMap<>();
+    private final OfflinePlayerCache offlineCache;
+    private final Map<UUID, CompletableFuture<PlayerQuestData>> pendingLoads = new ConcurrentHashMap<>();
+    private final List<ProgressChangeListener> progressListeners = new CopyOnWriteArrayList<>();
     
     public PlayerQuestManager(WDPQuestPlugin plugin) {
         this.plugin = plugin;
+        this.offlineCache = new OfflinePlayerCache(
+            plugin.getConfig().getInt("database.offline-cache.max-size", 500),
+            plugin.getConfig().getLong("database.offline-cache.ttl-seconds", 600) * 1000L);
     }
     
     /**
-     * Get or load player data
+     * Register a listener for quest progress changes
+     */
+    public void addProgressListener(ProgressChangeListener listener) {
+        progressListeners.add(listener);
+    }
+    
+    public void removeProgressListener(ProgressChangeListener listener) {
+        progressListeners.remove(listener);
+    }
+    
+    /**
+     * Tell progress listeners that a player's quest changed
+     */
+    public void notifyProgressChange(Player player, String questId) {
+        for (ProgressChangeListener listener : progressListeners) {
+            listener.onProgressChange(player, questId);
+        }
+    }
+    
+    /**
+     * Set or clear (null) the quest a player tracks
+     */
+    public void setTrackedQuest(Player player, String questId) {
+        PlayerQuestData data = getPlayerData(player);
+        String previous = data.getTrackedQuestId();
+        data.setTrackedQuestId(questId);
+        String changed = questId != null ? questId : previous;
+        if (changed != null) {
+            notifyProgressChange(player, changed);
+        }
+    }
+    
+    /**
+     * Get or load player data. Offline players are loaded through the bounded
+     * offline cache; prefer {@link #getPlayerDataAsync(UUID)} for them.
      */
     public PlayerQuestData getPlayerData(UUID uuid) {
-        return playerData.computeIfAbsent(uuid, id -> 
-            plugin.getDatabaseManager().loadPlayerData(uuid));
+        PlayerQuestData data = playerData.get(uuid);
+        if (data != null) return data;
+        
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            return getPlayerData(player);
+        }
+        
+        data = offlineCache.get(uuid);
+        if (data == null) {
+            data = plugin.getDatabaseManager().loadPlayerData(uuid);
+            offlineCache.put(uuid, data);
+        }
+        return data;
     }
     
     public PlayerQuestData getPlayerData(Player player) {
-        return getPlayerData(player.getUniqueId());
+        return playerData.computeIfAbsent(player.getUniqueId(), this::loadFromCacheOrDatabase);
+    }
+    
+    /**
+     * Get player data without blocking the calling thread. Loads for offline
+     * players run on a background thread and share one load per UUID.
+     */
+    public CompletableFuture<PlayerQuestData> getPlayerDataAsync(UUID uuid) {
+        PlayerQuestData data = playerData.get(uuid);
+        if (data == null) {
+            data = offlineCache.get(uuid);
+        }
+        if (data != null) {
+            return CompletableFuture.completedFuture(data);
+        }
+        
+        CompletableFuture<PlayerQuestData> future = new CompletableFuture<>();
+        CompletableFuture<PlayerQuestData> pending = pendingLoads.putIfAbsent(uuid, future);
+        if (pending != null) {
+            return pending;
+        }
+        
+        try {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    PlayerQuestData loaded = playerData.get(uuid);
+                    if (loaded == null) {
+                        loaded = plugin.getDatabaseManager().loadPlayerData(uuid);
+                        // The player may have joined while we were loading
+                        PlayerQuestData online = playerData.get(uuid);
+                        if (online != null) {
+                            loaded = online;
+                        } else {
+                            offlineCache.put(uuid, loaded);
+                        }
+                    }
+                    future.complete(loaded);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    pendingLoads.remove(uuid, future);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The scheduler refuses new tasks while the plugin is disabling
+            pendingLoads.remove(uuid, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    private PlayerQuestData loadFromCacheOrDatabase(UUID uuid) {
+        PlayerQuestData cached = offlineCache.remove(uuid);
+        return cached != null ? cached : plugin.getDatabaseManager().loadPlayerData(uuid);
+    }
+    
+    /**
+     * Check if a player's data is currently held in memory
+     */
+    public boolean isLoaded(UUID uuid) {
+        return playerData.containsKey(uuid);
     }
     
     /**
      * Load player data (called on join)
      */
     public void loadPlayer(UUID uuid) {
-        PlayerQuestData data = plugin.getDatabaseManager().loadPlayerData(uuid);
-        playerData.put(uuid, data);
+        playerData.computeIfAbsent(uuid, this::loadFromCacheOrDatabase);
     }
     
     /**
@@ -49,6 +164,8 @@ public class PlayerQuestManager {
         PlayerQuestData data = playerData.remove(uuid);
         if (data != null) {
             savePlayerData(data);
+            // Keep it briefly so a quick rejoin or API lookup skips the database
+            offlineCache.put(uuid, data);
         }
         
         // Clear smart progress tracker data
@@ -91,6 +208,26 @@ public class PlayerQuestManager {
         }
     }
     
+    /**
+     * Drop expired offline entries and apply config changes
+     */
+    public void reloadOfflineCache() {
+        offlineCache.resize(
+            plugin.getConfig().getInt("database.offline-cache.max-size", 500),
+            plugin.getConfig().getLong("database.offline-cache.ttl-seconds", 600) * 1000L);
+    }
+    
+    public OfflinePlayerCache getOfflineCache() {
+        return offlineCache;
+    }
+    
+    /**
+     * Get number of online players with loaded data
+     */
+    public int getLoadedPlayerCount() {
+        return playerData.size();
+    }
+    
     /**
      * Start a quest for a player
      */
@@ -147,6 +284,7 @@ public class PlayerQuestManager {
         player.playSound(player.getLocation(), 
             plugin.getConfigManager().getSound("start-quest"), 1.0f, 1.0f);
         player.sendMessage(plugin.getMessages().get("quests.started", "quest", quest.getDisplayName()));
+        notifyProgressChange(player, quest.getId());
         
         return true;
     }
@@ -173,6 +311,7 @@ public class PlayerQuestManager {
         
         String questName = quest != null ? quest.getDisplayName() : questId;
         player.sendMessage(plugin.getMessages().get("quests.abandoned", "quest", questName));
+        notifyProgressChange(player, questId);
         
         return true;
     }
@@ -189,6 +328,7 @@ public class PlayerQuestManager {
         // Mark completed
         progress.setStatus(PlayerQuestData.QuestStatus.COMPLETED);
         progress.setCompletedAt(System.currentTimeMillis());
+        data.incrementLifetimeCompleted();
         
         // Clear tracking if this was tracked
         if (data.isTracking(quest.getId())) {
@@ -196,14 +336,14 @@ public class PlayerQuestManager {
         }
         
         // Set cooldown for repeatable quests
+        Long cooldownUntil = null;
         if (quest.isRepeatable() && quest.getCooldownSeconds() > 0) {
-            long cooldownUntil = System.currentTimeMillis() + (quest.getCooldownSeconds() * 1000);
+            cooldownUntil = System.currentTimeMillis() + (quest.getCooldownSeconds() * 1000);
             data.setCooldown(quest.getId(), cooldownUntil);
-            plugin.getDatabaseManager().saveCooldown(player.getUniqueId(), quest.getId(), cooldownUntil);
         }
         
         // Give rewards
-        giveRewards(player, quest);
+        double coinsEarned = giveRewards(player, quest);
         
         // Register achievement if enabled
         if (plugin.getConfigManager().isRegisterAchievements()) {
@@ -212,11 +352,16 @@ public class PlayerQuestManager {
         
         // Recalculate progress if enabled
         if (plugin.getConfigManager().isRecalculateOnComplete()) {
-            plugin.getProgressIntegration().recalculateProgress(player);
+            plugin.getProgressIntegration().scheduleRecalculation(player);
         }
         
-        // Save
-        plugin.getDatabaseManager().savePlayerQuest(player.getUniqueId(), progress);
+        // Save completion, cooldown and stats together
+        UUID uuid = player.getUniqueId();
+        Long cooldown = cooldownUntil;
+        long questDay = plugin.getDailyQuestManager().getQuestDay(player);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            plugin.getDatabaseManager().saveCompletion(uuid, progress, cooldown, quest.isHardQuest(), coinsEarned, questDay);
+        });
         
         // Sound and message
         player.playSound(player.getLocation(),
@@ -229,12 +374,15 @@ public class PlayerQuestManager {
                 "player", player.getName(), "quest", quest.getDisplayName());
             Bukkit.broadcastMessage(broadcast);
         }
+        
+        notifyProgressChange(player, quest.getId());
     }
     
     /**
      * Give quest rewards to player
+     * @return coins paid out
      */
-    private void giveRewards(Player player, Quest quest) {
+    private double giveRewards(Player player, Quest quest) {
         var rewards = quest.getRewards();
         var economy = plugin.getEconomyIntegration();
         var config = plugin.getConfigManager();
@@ -248,8 +396,10 @@ public class PlayerQuestManager {
         }
         
         // Give coins
+        double coinsPaid = 0;
         if (coinReward > 0 && economy.isEnabled()) {
             economy.giveCoins(player, coinReward);
+            coinsPaid = coinReward;
             player.sendMessage(plugin.getMessages().get("rewards.coins", "amount", String.format("%.0f", coinReward)));
         }
         
@@ -283,6 +433,8 @@ public class PlayerQuestManager {
             String parsedCommand = command.replace("%player%", player.getName());
             Bukkit.dispatchCommand(Bukkit.getConsoleSender(), parsedCommand);
         }
+        
+        return coinsPaid;
     }
     
     /**
@@ -314,15 +466,15 @@ public class PlayerQuestManager {
         // Use smart progress tracker to determine if we should show update
         boolean isTracking = data.isTracking(quest.getId());
         boolean shouldShow = plugin.getSmartProgressTracker().shouldShowUpdate(
-            player, 
-            quest.getId(), 
-            objective.getId(),
+            player,
+            quest,
+            objective,
             objProgress.getCurrentAmount(),
             objective.getTargetAmount()
         );
         
-        // Send progress message if tracking AND should show
-        if (isTracking && shouldShow) {
+        // Send progress message if tracking AND should show, unless the HUD shows it
+        if (isTracking && shouldShow && !plugin.getProgressHud().isHudEnabled(player.getUniqueId())) {
             player.sendMessage(plugin.getMessages().get("objectives.progress",
                 "objective", objective.getFormattedDescription(),
                 "current", String.valueOf(objProgress.getCurrentAmount()),
@@ -332,6 +484,8 @@ public class PlayerQuestManager {
         // Check if quest is complete
         if (progress.areAllObjectivesComplete(quest.getTotalObjectives())) {
             completeQuest(player, quest);
+        } else {
+            notifyProgressChange(player, quest.getId());
         }
     }
 }
@@ -0,0 +1,72 @@
+package com.wdp.quest.data;
+
+import java.util.UUID;
+
+/**
+ * Lifetime quest statistics for a player, read from player_quest_stats
+ */
+public class PlayerQuestStats {
+
+    private final UUID uuid;
+    private final int completedCount;
+    private final int hardCompleted;
+    private final double coinsEarned;
+    private final int currentStreak;
+    private final int bestStreak;
+    private final long lastCompletion;
+
+    public PlayerQuestStats(UUID uuid, int completedCount, int hardCompleted, double coinsEarned,
+                            int currentStreak, int bestStreak, long lastCompletion) {
+        this.uuid = uuid;
+        this.completedCount = completedCount;
+        this.hardCompleted = hardCompleted;
+        this.coinsEarned = coinsEarned;
+        this.currentStreak = currentStreak;
+        this.bestStreak = bestStreak;
+        this.lastCompletion = lastCompletion;
+    }
+
+    /**
+     * Stats for a player with no recorded completions
+     */
+    public static PlayerQuestStats empty(UUID uuid) {
+        return new PlayerQuestStats(uuid, 0, 0, 0, 0, 0, 0);
+    }
+
+    public UUID getUuid() { return uuid; }
+    public int getCompletedCount() { return completedCount; }
+    public int getHardCompleted() { return hardCompleted; }
+    public double getCoinsEarned() { return coinsEarned; }
+    public int getCurrentStreak() { return currentStreak; }
+    public int getBestStreak() { return bestStreak; }
+    public long getLastCompletion() { return lastCompletion; }
+
+    /**
+     * Columns players can be ranked by. Each one is indexed.
+     */
+    public enum Ranking {
+        COMPLETED("completed_count"),
+        HARD("hard_completed"),
+        COINS("coins_earned"),
+        STREAK("best_streak");
+
+        private final String column;
+
+        Ranking(String column) {
+            this.column = column;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public static Ranking fromString(String name) {
+            for (Ranking ranking : values()) {
+                if (ranking.name().equalsIgnoreCase(name)) {
+                    return ranking;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.wdp.quest.data;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Notified on the main thread whenever a player's quest state changes:
+ * objective progress, a quest started, completed or abandoned, or the
+ * tracked quest changed. Implementations should only mark what they
+ * display as dirty and render later, since this can fire many times a tick.
+ */
+public interface ProgressChangeListener {
+    
+    /**
+     * @param player The player whose quest state changed
+     * @param questId The quest that changed
+     */
+    void onProgressChange(Player player, String questId);
+}
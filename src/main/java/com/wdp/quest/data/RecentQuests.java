@@ -0,0 +1,72 @@
+package com.wdp.quest.data;
+
+/**
+ * Fixed-size ring of the quest ids a player was offered most recently.
+ * Used to keep the daily rotation from repeating itself; stored packed with
+ * each of the player's daily_assignments rows.
+ */
+public class RecentQuests {
+
+    private final String[] ids;
+    private int next;
+    private int size;
+
+    public RecentQuests(int capacity) {
+        this.ids = new String[Math.max(0, capacity)];
+    }
+
+    public boolean contains(String questId) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i].equals(questId)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remember a quest id, overwriting the oldest one when full
+     */
+    public void add(String questId) {
+        if (ids.length == 0 || contains(questId)) return;
+        ids[next] = questId;
+        next = (next + 1) % ids.length;
+        if (size < ids.length) size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public RecentQuests copy() {
+        RecentQuests copy = new RecentQuests(ids.length);
+        System.arraycopy(ids, 0, copy.ids, 0, ids.length);
+        copy.next = next;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Pack as comma-separated ids from oldest to newest
+     */
+    public String pack() {
+        StringBuilder builder = new StringBuilder();
+        int start = size < ids.length ? 0 : next;
+        for (int i = 0; i < size; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(ids[(start + i) % ids.length]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Restore a packed ring, keeping the newest ids if the capacity shrank
+     */
+    public static RecentQuests unpack(String packed, int capacity) {
+        RecentQuests recent = new RecentQuests(capacity);
+        if (packed != null && !packed.isEmpty()) {
+            for (String questId : packed.split(",")) {
+                recent.add(questId);
+            }
+        }
+        return recent;
+    }
+}
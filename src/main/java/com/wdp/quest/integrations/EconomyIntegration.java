@@ -6,10 +6,20 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.RegisteredServiceProvider;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Integration with Vault economy (SkillCoins via AuraSkills)
+ * Integration with Vault economy (SkillCoins via AuraSkills).
+ * The AuraSkills token calls are bound to method handles on startup and on
+ * reload. Balances shown in menus are cached per player for a few seconds;
+ * paying a player through this class clears their entry.
  */
 public class EconomyIntegration {
     
@@ -17,15 +27,41 @@ public class EconomyIntegration {
     private Economy economy;
     private boolean enabled = false;
     
-    // Direct AuraSkills integration for tokens
+    // Direct AuraSkills integration for tokens, bound to its economy provider
     private Object auraSkillsPlugin;
-    private java.lang.reflect.Method getEconomyMethod;
-    private java.lang.reflect.Method addBalanceMethod;
-    private java.lang.reflect.Method getBalanceMethod;
-    private Object tokensEnum;
+    private MethodHandle getTokensHandle; // (UUID) -> double
+    private MethodHandle addTokensHandle; // (UUID, double) -> void
+    
+    // Balance cache
+    private final Map<UUID, CachedBalance> coinCache = new ConcurrentHashMap<>();
+    private final Map<UUID, CachedBalance> tokenCache = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Bumped on every invalidation, so a lookup that raced with a payment isn't cached
+    private final AtomicLong invalidations = new AtomicLong();
+    // Generation of the last invalidateAll; older lookups are never cached
+    private volatile long clearedAt;
+    private volatile long ttlMillis;
     
     public EconomyIntegration(WDPQuestPlugin plugin) {
         this.plugin = plugin;
+        loadConfig();
+    }
+    
+    private void loadConfig() {
+        ttlMillis = Math.max(0, plugin.getConfig().getLong("economy.balance-cache-seconds", 5)) * 1000L;
+    }
+    
+    /**
+     * Reload cache settings, drop cached balances and re-bind AuraSkills, whose
+     * economy provider is replaced when AuraSkills reloads
+     */
+    public void reload() {
+        loadConfig();
+        if (enabled) {
+            setupAuraSkillsDirect();
+        }
+        invalidateAll();
     }
     
     /**
@@ -52,7 +88,7 @@ public class EconomyIntegration {
             return false;
         }
         
-        RegisteredServiceProvider<Economy> rsp = 
+        RegisteredServiceProvider<Economy> rsp =
                 Bukkit.getServicesManager().getRegistration(Economy.class);
         
         if (rsp == null) {
@@ -67,6 +103,8 @@ public class EconomyIntegration {
      * Setup direct AuraSkills integration for token rewards
      */
     private void setupAuraSkillsDirect() {
+        addTokensHandle = null;
+        getTokensHandle = null;
         try {
             auraSkillsPlugin = Bukkit.getPluginManager().getPlugin("AuraSkills");
             if (auraSkillsPlugin == null) {
@@ -75,25 +113,31 @@ public class EconomyIntegration {
             }
             
             // Get the economy provider via reflection
-            getEconomyMethod = auraSkillsPlugin.getClass().getMethod("getSkillCoinsEconomy");
+            Method getEconomyMethod = auraSkillsPlugin.getClass().getMethod("getSkillCoinsEconomy");
             Object economyProvider = getEconomyMethod.invoke(auraSkillsPlugin);
             
             if (economyProvider != null) {
                 // Get CurrencyType.TOKENS
                 Class<?> currencyTypeClass = Class.forName("dev.aurelium.auraskills.common.skillcoins.CurrencyType");
                 @SuppressWarnings({"unchecked", "rawtypes"})
-                Enum tokensEnum_temp = Enum.valueOf((Class<? extends Enum>) currencyTypeClass, "TOKENS");
-                tokensEnum = tokensEnum_temp;
+                Enum tokensEnum = Enum.valueOf((Class<? extends Enum>) currencyTypeClass, "TOKENS");
                 
-                // Get methods
-                addBalanceMethod = economyProvider.getClass().getMethod("addBalance", UUID.class, currencyTypeClass, double.class);
-                getBalanceMethod = economyProvider.getClass().getMethod("getBalance", UUID.class, currencyTypeClass);
+                // Bind provider and currency once: calls then go straight to AuraSkills
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Method addBalanceMethod = economyProvider.getClass().getMethod("addBalance", UUID.class, currencyTypeClass, double.class);
+                Method getBalanceMethod = economyProvider.getClass().getMethod("getBalance", UUID.class, currencyTypeClass);
+                addTokensHandle = MethodHandles.insertArguments(lookup.unreflect(addBalanceMethod).bindTo(economyProvider), 1, tokensEnum)
+                        .asType(MethodType.methodType(void.class, UUID.class, double.class));
+                getTokensHandle = MethodHandles.insertArguments(lookup.unreflect(getBalanceMethod).bindTo(economyProvider), 1, tokensEnum)
+                        .asType(MethodType.methodType(double.class, UUID.class));
                 
                 plugin.getLogger().info("Direct AuraSkills integration enabled for token rewards!");
             }
         } catch (Exception e) {
             plugin.getLogger().info("Could not setup direct AuraSkills integration: " + e.getMessage());
             auraSkillsPlugin = null;
+            addTokensHandle = null;
+            getTokensHandle = null;
         }
     }
     
@@ -104,6 +148,7 @@ public class EconomyIntegration {
         if (!enabled || economy == null) return false;
         
         economy.depositPlayer(player, amount);
+        invalidate(coinCache, player.getUniqueId());
         return true;
     }
     
@@ -111,15 +156,13 @@ public class EconomyIntegration {
      * Give tokens to a player (direct AuraSkills)
      */
     public boolean giveTokens(Player player, double amount) {
-        if (auraSkillsPlugin == null || addBalanceMethod == null) return false;
+        if (addTokensHandle == null) return false;
         
         try {
-            Object economyProvider = getEconomyMethod.invoke(auraSkillsPlugin);
-            if (economyProvider != null) {
-                addBalanceMethod.invoke(economyProvider, player.getUniqueId(), tokensEnum, amount);
-                return true;
-            }
-        } catch (Exception e) {
+            addTokensHandle.invokeExact(player.getUniqueId(), amount);
+            invalidate(tokenCache, player.getUniqueId());
+            return true;
+        } catch (Throwable e) {
             plugin.getLogger().warning("Failed to give tokens: " + e.getMessage());
         }
         return false;
@@ -141,34 +184,88 @@ public class EconomyIntegration {
         if (!hasCoins(player, amount)) return false;
         
         economy.withdrawPlayer(player, amount);
+        invalidate(coinCache, player.getUniqueId());
         return true;
     }
     
     /**
-     * Get player's coin balance
+     * Get player's coin balance, cached for economy.balance-cache-seconds
      */
     public double getCoins(Player player) {
         if (!enabled || economy == null) return 0;
-        return economy.getBalance(player);
+        UUID uuid = player.getUniqueId();
+        Double cached = getCached(coinCache, uuid);
+        if (cached != null) return cached;
+        
+        long generation = invalidations.get();
+        return store(coinCache, uuid, economy.getBalance(player), generation);
     }
     
     /**
-     * Get player's token balance
+     * Get player's token balance, cached for economy.balance-cache-seconds
      */
     public double getTokens(Player player) {
-        if (auraSkillsPlugin == null || getBalanceMethod == null) return 0;
+        if (getTokensHandle == null) return 0;
+        UUID uuid = player.getUniqueId();
+        Double cached = getCached(tokenCache, uuid);
+        if (cached != null) return cached;
         
         try {
-            Object economyProvider = getEconomyMethod.invoke(auraSkillsPlugin);
-            if (economyProvider != null) {
-                return (double) getBalanceMethod.invoke(economyProvider, player.getUniqueId(), tokensEnum);
-            }
-        } catch (Exception e) {
+            long generation = invalidations.get();
+            return store(tokenCache, uuid, (double) getTokensHandle.invokeExact(uuid), generation);
+        } catch (Throwable e) {
             plugin.getLogger().warning("Failed to get tokens: " + e.getMessage());
         }
         return 0;
     }
     
+    private Double getCached(Map<UUID, CachedBalance> cache, UUID uuid) {
+        if (ttlMillis <= 0) return null;
+        CachedBalance entry = cache.get(uuid);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    private double store(Map<UUID, CachedBalance> cache, UUID uuid, double value, long generation) {
+        if (ttlMillis <= 0 || generation < clearedAt) return value;
+        // Atomic per player: an entry from a later invalidation or lookup wins over this one
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        cache.compute(uuid, (id, entry) -> entry != null && entry.generation > generation
+            ? entry : new CachedBalance(value, expiresAt, generation));
+        return value;
+    }
+    
+    private void invalidate(Map<UUID, CachedBalance> cache, UUID uuid) {
+        // Leave an expired entry behind that records when the balance changed
+        cache.compute(uuid, (id, entry) -> new CachedBalance(0, 0, invalidations.incrementAndGet()));
+    }
+    
+    /**
+     * Drop a player's cached balances, e.g. after paying them through another plugin
+     */
+    public void invalidate(UUID uuid) {
+        invalidate(coinCache, uuid);
+        invalidate(tokenCache, uuid);
+    }
+    
+    private void invalidateAll() {
+        clearedAt = invalidations.incrementAndGet();
+        coinCache.clear();
+        tokenCache.clear();
+    }
+    
+    /**
+     * Drop cached balances of a player who left
+     */
+    public void unloadPlayer(UUID uuid) {
+        coinCache.remove(uuid);
+        tokenCache.remove(uuid);
+    }
+    
     /**
      * Format currency amount
      */
@@ -182,10 +279,47 @@ public class EconomyIntegration {
     }
     
     public boolean hasTokenSupport() {
-        return auraSkillsPlugin != null && addBalanceMethod != null;
+        return addTokensHandle != null;
     }
     
     public Economy getEconomy() {
         return economy;
     }
+    
+    /**
+     * Number of cached balances (coins and tokens)
+     */
+    public int getCacheSize() {
+        return coinCache.size() + tokenCache.size();
+    }
+    
+    public long getCacheHits() {
+        return hits.get();
+    }
+    
+    public long getCacheMisses() {
+        return misses.get();
+    }
+    
+    /**
+     * Get cache hit rate as a percentage
+     */
+    public double getCacheHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : h * 100.0 / total;
+    }
+    
+    private static class CachedBalance {
+        final double value;
+        final long expiresAt;
+        // Value of invalidations when the lookup started, or of the invalidation itself
+        final long generation;
+        
+        CachedBalance(double value, long expiresAt, long generation) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
 }
@@ -6,11 +6,19 @@ import com.wdp.quest.WDPQuestPlugin;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 /**
- * Integration with WDP-Progress plugin for progress tracking
+ * Integration with WDP-Progress plugin for progress tracking.
+ * Progress lookups of online players are cached for a short time; the cache
+ * is refreshed by {@link #recalculateProgress} and invalidated on quit.
  */
 public class ProgressIntegration {
     
@@ -18,8 +26,38 @@ public class ProgressIntegration {
     private ProgressAPI progressAPI;
     private boolean enabled = false;
     
+    // Progress cache
+    private final Map<UUID, CachedProgress> cache = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile long ttlMillis;
+    
+    // Debounced recalculation
+    private final Map<UUID, BukkitTask> pendingRecalculations = new ConcurrentHashMap<>();
+    private final Set<UUID> runningRecalculations = ConcurrentHashMap.newKeySet();
+    private long recalculateDelayTicks;
+    private boolean recalculateAsync;
+    private boolean asyncSafe;
+    
     public ProgressIntegration(WDPQuestPlugin plugin) {
         this.plugin = plugin;
+        loadConfig();
+    }
+    
+    private void loadConfig() {
+        ttlMillis = Math.max(0, plugin.getConfig().getLong("progress.cache-ttl-seconds", 30)) * 1000L;
+        recalculateDelayTicks = Math.max(1, plugin.getConfig().getLong("progress.recalculate-delay-ticks", 20));
+        recalculateAsync = plugin.getConfig().getBoolean("progress.recalculate-async", false);
+        // Configs from before the setting existed only had recalculate-async to vouch for it
+        asyncSafe = plugin.getConfig().getBoolean("progress.async-safe", recalculateAsync);
+    }
+    
+    /**
+     * Reload cache settings and drop cached values
+     */
+    public void reload() {
+        loadConfig();
+        cache.clear();
     }
     
     /**
@@ -58,15 +96,55 @@ public class ProgressIntegration {
      */
     public double getPlayerProgress(Player player) {
         if (!enabled || progressAPI == null) return 0;
-        return progressAPI.getPlayerProgress(player);
+        Double cached = getCached(player.getUniqueId());
+        if (cached != null) return cached;
+        return store(player.getUniqueId(), progressAPI.getPlayerProgress(player));
     }
     
     /**
-     * Get a player's progress by UUID (works offline)
+     * Get a player's progress by UUID (works offline). Offline players aren't
+     * cached, as nothing would ever remove their entries.
      */
     public double getPlayerProgress(UUID uuid) {
         if (!enabled || progressAPI == null) return 0;
-        return progressAPI.getPlayerProgress(uuid);
+        if (Bukkit.getPlayer(uuid) == null) {
+            return progressAPI.getPlayerProgress(uuid);
+        }
+        Double cached = getCached(uuid);
+        if (cached != null) return cached;
+        return store(uuid, progressAPI.getPlayerProgress(uuid));
+    }
+    
+    /**
+     * Whether WDP-Progress lookups may be called off the main thread (progress.async-safe)
+     */
+    public boolean isAsyncSafe() {
+        return asyncSafe;
+    }
+    
+    private Double getCached(UUID uuid) {
+        if (ttlMillis <= 0) return null;
+        CachedProgress entry = cache.get(uuid);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    private double store(UUID uuid, double value) {
+        if (ttlMillis > 0) {
+            cache.put(uuid, new CachedProgress(value, System.currentTimeMillis() + ttlMillis));
+        }
+        return value;
+    }
+    
+    /**
+     * Drop a player's cached progress, e.g. when they leave
+     */
+    public void invalidate(UUID uuid) {
+        cache.remove(uuid);
     }
     
     /**
@@ -108,14 +186,110 @@ public class ProgressIntegration {
      */
     public double recalculateProgress(Player player) {
         if (!enabled || progressAPI == null) return 0;
-        return progressAPI.recalculateProgress(player);
+        invalidate(player.getUniqueId());
+        return store(player.getUniqueId(), progressAPI.recalculateProgress(player));
+    }
+    
+    /**
+     * Request a progress recalculation. Requests for the same player within
+     * progress.recalculate-delay-ticks are coalesced into one recalculation.
+     */
+    public void scheduleRecalculation(Player player) {
+        if (!enabled || progressAPI == null) return;
+        UUID uuid = player.getUniqueId();
+        pendingRecalculations.computeIfAbsent(uuid, id ->
+            Bukkit.getScheduler().runTaskLater(plugin, () -> runRecalculation(id), recalculateDelayTicks));
+    }
+    
+    private void runRecalculation(UUID uuid) {
+        pendingRecalculations.remove(uuid);
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null) return;
+        
+        if (!recalculateAsync) {
+            recalculateProgress(player);
+            return;
+        }
+        
+        // One recalculation per player at a time; a request arriving meanwhile waits for the next window
+        if (!runningRecalculations.add(uuid)) {
+            scheduleRecalculation(player);
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                double value = progressAPI.recalculateProgress(player);
+                // Apply the result on the main thread
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    runningRecalculations.remove(uuid);
+                    if (player.isOnline()) {
+                        store(uuid, value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                runningRecalculations.remove(uuid);
+                plugin.getLogger().log(Level.WARNING, "Failed to recalculate progress for " + player.getName(), e);
+            }
+        });
+    }
+    
+    /**
+     * Cancel a pending recalculation and drop cached progress of a player who left
+     */
+    public void unloadPlayer(UUID uuid) {
+        BukkitTask task = pendingRecalculations.remove(uuid);
+        if (task != null) {
+            task.cancel();
+        }
+        invalidate(uuid);
+    }
+    
+    /**
+     * Cancel all pending recalculations
+     */
+    public void shutdown() {
+        for (BukkitTask task : pendingRecalculations.values()) {
+            task.cancel();
+        }
+        pendingRecalculations.clear();
     }
     
     public boolean isEnabled() {
         return enabled;
     }
     
+    public int getCacheSize() {
+        return cache.size();
+    }
+    
+    public long getCacheHits() {
+        return hits.get();
+    }
+    
+    public long getCacheMisses() {
+        return misses.get();
+    }
+    
+    /**
+     * Get cache hit rate as a percentage
+     */
+    public double getCacheHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : h * 100.0 / total;
+    }
+    
     public ProgressAPI getProgressAPI() {
         return progressAPI;
     }
+    
+    private static class CachedProgress {
+        final double value;
+        final long expiresAt;
+        
+        CachedProgress(double value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -7,6 +7,8 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.util.UUID;
+
 /**
  * Handles player join/quit for data loading/saving
  */
@@ -23,12 +25,24 @@ public class PlayerEventListener implements Listener {
         // Load player data async
         plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
             plugin.getPlayerQuestManager().loadPlayer(event.getPlayer().getUniqueId());
+            plugin.getDatabaseManager().touchPlayer(event.getPlayer().getUniqueId());
         });
+        plugin.getDailyQuestManager().loadPlayer(event.getPlayer());
+        plugin.getSidebarManager().loadPlayer(event.getPlayer());
     }
     
     @EventHandler(priority = EventPriority.NORMAL)
     public void onPlayerQuit(PlayerQuitEvent event) {
         // Unload and save player data
-        plugin.getPlayerQuestManager().unloadPlayer(event.getPlayer().getUniqueId());
+        UUID uuid = event.getPlayer().getUniqueId();
+        plugin.getPlayerQuestManager().unloadPlayer(uuid);
+        plugin.getDailyQuestManager().unloadPlayer(uuid);
+        plugin.getProgressIntegration().unloadPlayer(uuid);
+        plugin.getEconomyIntegration().unloadPlayer(uuid);
+        plugin.getProgressHud().unloadPlayer(uuid);
+        plugin.getSidebarManager().unloadPlayer(uuid);
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            plugin.getDatabaseManager().touchPlayer(uuid);
+        });
     }
 }
@@ -0,0 +1,70 @@
+package com.wdp.quest.quest;
+
+import java.util.Random;
+
+/**
+ * Walker/Vose alias table for drawing an index proportional to its weight in
+ * constant time. Built once in O(n) and shared by every draw.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    AliasTable(double[] weights, int length) {
+        this.probability = new double[length];
+        this.alias = new int[length];
+        if (length == 0) return;
+
+        double total = 0;
+        for (int i = 0; i < length; i++) {
+            total += weights[i];
+        }
+
+        // Scale weights so the average bucket is exactly 1
+        double[] scaled = new double[length];
+        int[] small = new int[length];
+        int[] large = new int[length];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < length; i++) {
+            scaled[i] = total > 0 ? weights[i] * length / total : 1.0;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Pair each under-full bucket with an over-full one
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    int size() {
+        return probability.length;
+    }
+
+    int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -1,219 +1,328 @@
 package com.wdp.quest.quest;
 
 import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.data.PlayerQuestData;
+import com.wdp.quest.data.RecentQuests;
 import com.wdp.quest.integrations.ProgressIntegration;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionDefault;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.time.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Manages daily quest rotation and selection
- * Each day, players get a fresh set of quests based on their progress level
+ * Each day, players get a fresh set of quests based on their progress level.
+ * The day rolls over at the reset hour in the player's own time zone; every
+ * online player has a timer for their next reset instead of a global poll.
  */
 public class DailyQuestManager {
     
     private final WDPQuestPlugin plugin;
     private final QuestManager questManager;
     
-    // Cache of daily quests per player (refreshes on day change)
-    private final Map<UUID, DailyQuestData> playerDailyQuests = new ConcurrentHashMap<>();
-    
-    // Global daily seed for consistent selection
-    private long currentDaySeed;
-    private LocalDate currentDate;
+    // Daily state of online players
+    private final Map<UUID, PlayerDaily> players = new ConcurrentHashMap<>();
     
     // Configuration
-    private int questsPerDay = 5;
+    private volatile DailyQuestSelector selector;
     private int resetHour = 0;
+    private int pregenerateMinutes = 5;
+    private ZoneId defaultZone = ZoneId.systemDefault();
+    private volatile List<ResetZone> zones = List.of();
     
     public DailyQuestManager(WDPQuestPlugin plugin, QuestManager questManager) {
         this.plugin = plugin;
         this.questManager = questManager;
-        this.currentDate = LocalDate.now();
-        this.currentDaySeed = generateDaySeed(currentDate);
         
         loadConfig();
-        startDailyResetTask();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPlayer(player);
+        }
     }
     
     private void loadConfig() {
-        questsPerDay = plugin.getConfig().getInt("daily-quests.quests-per-day", 5);
-        resetHour = plugin.getConfig().getInt("daily-quests.reset-hour", 0);
+        selector = new DailyQuestSelector(questManager, plugin.getConfig().getInt("daily-quests.quests-per-day", 5));
+        resetHour = Math.max(0, Math.min(23, plugin.getConfig().getInt("daily-quests.reset-hour", 0)));
+        pregenerateMinutes = Math.max(0, plugin.getConfig().getInt("daily-quests.pregenerate-minutes", 5));
+        defaultZone = parseZone(plugin.getConfig().getString("daily-quests.timezone", ""), ZoneId.systemDefault());
+        
+        List<ResetZone> zones = new ArrayList<>();
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("daily-quests.zones");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                String permission = section.getString(key + ".permission", "wdp.quest.zone." + key);
+                ZoneId zone = parseZone(section.getString(key + ".timezone", ""), null);
+                if (zone != null) {
+                    registerZonePermission(permission);
+                    zones.add(new ResetZone(permission, zone));
+                }
+            }
+        }
+        this.zones = List.copyOf(zones);
     }
     
     /**
-     * Generate a consistent seed based on date
+     * Register a zone permission as not granted by default. Unregistered nodes
+     * default to op, which would put every operator into the first zone.
      */
-    private long generateDaySeed(LocalDate date) {
-        return date.toEpochDay() * 31 + 17;
+    private void registerZonePermission(String name) {
+        if (Bukkit.getPluginManager().getPermission(name) == null) {
+            Bukkit.getPluginManager().addPermission(new Permission(name,
+                "Use this daily quest reset time zone", PermissionDefault.FALSE));
+        }
+    }
+    
+    private ZoneId parseZone(String id, ZoneId fallback) {
+        if (id == null || id.isEmpty()) return fallback;
+        try {
+            return ZoneId.of(id);
+        } catch (DateTimeException e) {
+            plugin.getLogger().warning("Invalid time zone in daily-quests config: " + id);
+            return fallback;
+        }
     }
     
     /**
-     * Start the task that checks for daily reset
+     * Get the reset time zone of a player, the first configured zone they have permission for
      */
-    private void startDailyResetTask() {
-        // Check every minute for day change
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            LocalDate now = LocalDate.now();
-            LocalTime time = LocalTime.now();
-            
-            // Check if we've passed the reset hour and day has changed
-            if (!now.equals(currentDate) && time.getHour() >= resetHour) {
-                currentDate = now;
-                currentDaySeed = generateDaySeed(currentDate);
-                
-                // Clear all cached daily quests
-                playerDailyQuests.clear();
-                
-                // Notify online players
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    String message = plugin.getConfigManager().getMessage("daily-reset");
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        player.sendMessage(message);
-                    }
-                });
-                
-                plugin.getLogger().info("Daily quests have been reset!");
+    public ZoneId getZone(Player player) {
+        for (ResetZone zone : zones) {
+            if (player.hasPermission(zone.permission)) {
+                return zone.zone;
             }
-        }, 20L * 60, 20L * 60); // Check every minute
+        }
+        return defaultZone;
     }
     
     /**
-     * Get the daily quests for a player
+     * Get the quest day in a zone; it starts at the reset hour instead of midnight
      */
-    public List<Quest> getDailyQuests(Player player) {
-        UUID uuid = player.getUniqueId();
-        
-        // Check if we have cached quests for today
-        DailyQuestData data = playerDailyQuests.get(uuid);
-        if (data != null && data.date.equals(currentDate)) {
-            return data.quests;
+    private LocalDate currentDay(ZoneId zone) {
+        return ZonedDateTime.now(zone).minusHours(resetHour).toLocalDate();
+    }
+    
+    /**
+     * Get a player's current quest day as an epoch day
+     */
+    public long getQuestDay(Player player) {
+        return currentDay(zoneOf(player)).toEpochDay();
+    }
+    
+    /**
+     * Get the quest day of a moment in the default zone, for history without a player zone
+     */
+    public long getQuestDay(long timestamp) {
+        return Instant.ofEpochMilli(timestamp).atZone(defaultZone).minusHours(resetHour).toLocalDate().toEpochDay();
+    }
+    
+    /**
+     * Get the quest day of the zone that is furthest behind. Stats read without
+     * knowing the player's zone use it, so a streak isn't dropped before the
+     * player's own day is over.
+     */
+    public long getEarliestQuestDay() {
+        LocalDate earliest = currentDay(defaultZone);
+        for (ResetZone zone : zones) {
+            LocalDate day = currentDay(zone.zone);
+            if (day.isBefore(earliest)) earliest = day;
+        }
+        return earliest.toEpochDay();
+    }
+    
+    private ZonedDateTime nextReset(ZoneId zone) {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime next = now.toLocalDate().atStartOfDay(zone).plusHours(resetHour);
+        return next.isAfter(now) ? next : next.plusDays(1);
+    }
+    
+    /**
+     * Start tracking a player's day and schedule their next reset
+     */
+    public void loadPlayer(Player player) {
+        PlayerDaily state = new PlayerDaily(getZone(player));
+        PlayerDaily previous = players.put(player.getUniqueId(), state);
+        if (previous != null) {
+            previous.cancelTasks();
         }
+        scheduleReset(player.getUniqueId(), state);
+    }
+    
+    /**
+     * Stop tracking a player who left
+     */
+    public void unloadPlayer(UUID uuid) {
+        PlayerDaily state = players.remove(uuid);
+        if (state != null) {
+            state.cancelTasks();
+        }
+    }
+    
+    private void scheduleReset(UUID uuid, PlayerDaily state) {
+        state.cancelTasks();
         
-        // Generate new daily quests
-        List<Quest> dailyQuests = generateDailyQuests(player);
-        playerDailyQuests.put(uuid, new DailyQuestData(currentDate, dailyQuests));
+        ZonedDateTime reset = nextReset(state.zone);
+        long millis = Duration.between(ZonedDateTime.now(state.zone), reset).toMillis();
+        // Ticks only ever run late, so the day check in getDailyQuests already sees the new day
+        long resetTicks = millis / 50 + 1;
+        state.resetTask = Bukkit.getScheduler().runTaskLater(plugin, () -> onReset(uuid, state), resetTicks);
         
-        return dailyQuests;
+        long prepareTicks = resetTicks - pregenerateMinutes * 60L * 20L;
+        if (pregenerateMinutes > 0 && prepareTicks > 0) {
+            LocalDate nextDay = reset.toLocalDate();
+            state.prepareTask = Bukkit.getScheduler().runTaskLater(plugin, () -> prepare(uuid, state, nextDay), prepareTicks);
+        }
     }
     
     /**
-     * Generate daily quests for a player based on their progress
+     * Roll a player over to the new day at their reset instant
      */
-    private List<Quest> generateDailyQuests(Player player) {
-        double playerProgress = getPlayerProgress(player);
+    private void onReset(UUID uuid, PlayerDaily state) {
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null || players.get(uuid) != state) return;
         
-        // Get available quests for player's progress level
-        List<Quest> availableNormal = questManager.getQuestsForProgress(playerProgress, false);
-        List<Quest> availableHard = questManager.getHardQuests().stream()
-                .filter(q -> q.getRequiredProgress() <= playerProgress)
-                .collect(Collectors.toList());
+        rollOver(player, state, currentDay(state.zone));
+        player.sendMessage(plugin.getConfigManager().getMessage("daily-reset"));
+        scheduleReset(uuid, state);
+    }
+    
+    /**
+     * Generate a player's quests for the next day in the background, from a
+     * progress snapshot taken shortly before the reset
+     */
+    private void prepare(UUID uuid, PlayerDaily state, LocalDate date) {
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null || players.get(uuid) != state) return;
         
-        List<Quest> selectedQuests = new ArrayList<>();
-        Random random = new Random(currentDaySeed + player.getUniqueId().hashCode());
+        // Already stored, e.g. from before a restart
+        long epochDay = date.toEpochDay();
+        PlayerQuestData data = plugin.getPlayerQuestManager().getPlayerData(player);
+        if (data.getDailyAssignment(epochDay) != null) return;
         
-        // Shuffle available quests using the seeded random
-        List<Quest> shuffledNormal = new ArrayList<>(availableNormal);
-        Collections.shuffle(shuffledNormal, random);
+        double progress = getPlayerProgress(player);
+        // The history is owned by the main thread, so work on a copy
+        RecentQuests recent = data.getRecentQuests(epochDay - 1).copy();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<Quest> quests = selector.select(uuid, progress, date, recent);
+            List<String> ids = toIds(quests);
+            ids.forEach(recent::add);
+            Bukkit.getScheduler().runTask(plugin, () -> publishPrepared(uuid, state, new DayAssignment(date, quests, recent)));
+        });
+    }
+    
+    /**
+     * Hand a pre-generated set to the player's state on the main thread. Dropped if
+     * the day already rolled over without it, so only one set is ever stored per day.
+     */
+    private void publishPrepared(UUID uuid, PlayerDaily state, DayAssignment prepared) {
+        if (players.get(uuid) != state) return;
+        DayAssignment current = state.current;
+        if (current != null && !current.date.isBefore(prepared.date)) return;
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null) return;
         
-        List<Quest> shuffledHard = new ArrayList<>(availableHard);
-        Collections.shuffle(shuffledHard, random);
+        long epochDay = prepared.date.toEpochDay();
+        if (plugin.getPlayerQuestManager().getPlayerData(player).getDailyAssignment(epochDay) != null) return;
         
-        // First, add any multi-day hard quests that are still active
-        List<Quest> activeHardQuests = getActiveMultiDayQuests(player, shuffledHard);
-        selectedQuests.addAll(activeHardQuests);
+        state.prepared = prepared;
+        List<String> ids = toIds(prepared.quests);
+        String packed = prepared.recent.pack();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () ->
+            plugin.getDatabaseManager().saveDailyAssignment(uuid, epochDay, ids, packed));
+    }
+    
+    /**
+     * Switch a player to the given day, adopting the pre-generated set if it matches
+     */
+    private List<Quest> rollOver(Player player, PlayerDaily state, LocalDate date) {
+        PlayerQuestData data = plugin.getPlayerQuestManager().getPlayerData(player);
+        long epochDay = date.toEpochDay();
         
-        // Determine how many more quests we need
-        int remaining = questsPerDay - selectedQuests.size();
+        DayAssignment prepared = state.prepared;
+        state.prepared = null;
+        if (prepared != null && prepared.date.equals(date)) {
+            state.current = prepared;
+            data.setDailyAssignment(epochDay, toIds(prepared.quests), prepared.recent);
+            return prepared.quests;
+        }
         
-        // Try to add 1 hard quest if we don't have one yet
-        if (selectedQuests.stream().noneMatch(Quest::isHardQuest) && !shuffledHard.isEmpty()) {
-            for (Quest hard : shuffledHard) {
-                if (!selectedQuests.contains(hard)) {
-                    selectedQuests.add(hard);
-                    remaining--;
-                    break;
-                }
-            }
+        // Reuse the assignment stored with the player's data
+        List<String> storedIds = data.getDailyAssignment(epochDay);
+        if (storedIds != null) {
+            List<Quest> stored = resolveQuests(storedIds);
+            state.current = new DayAssignment(date, stored, null);
+            return stored;
         }
         
-        // Fill with normal quests, trying to get variety across categories
-        Map<QuestCategory, List<Quest>> byCategory = shuffledNormal.stream()
-                .filter(q -> !selectedQuests.contains(q))
-                .collect(Collectors.groupingBy(Quest::getCategory));
+        // Generate new daily quests once per day and persist them
+        UUID uuid = player.getUniqueId();
+        // Based on the history up to yesterday, not on a set generated ahead for tomorrow
+        RecentQuests recent = data.getRecentQuests(epochDay - 1).copy();
+        List<Quest> dailyQuests = selector.select(uuid, getPlayerProgress(player), date, recent);
+        state.current = new DayAssignment(date, dailyQuests, null);
         
-        // Round-robin across categories for variety
-        List<QuestCategory> categories = new ArrayList<>(byCategory.keySet());
-        Collections.shuffle(categories, random);
+        List<String> ids = toIds(dailyQuests);
+        ids.forEach(recent::add);
+        data.setDailyAssignment(epochDay, ids, recent);
+        String packed = recent.pack();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () ->
+            plugin.getDatabaseManager().saveDailyAssignment(uuid, epochDay, ids, packed));
         
-        int catIndex = 0;
-        while (remaining > 0 && !categories.isEmpty()) {
-            QuestCategory cat = categories.get(catIndex % categories.size());
-            List<Quest> catQuests = byCategory.get(cat);
-            
-            if (catQuests != null && !catQuests.isEmpty()) {
-                selectedQuests.add(catQuests.remove(0));
-                remaining--;
-                
-                if (catQuests.isEmpty()) {
-                    categories.remove(cat);
-                    byCategory.remove(cat);
-                }
-            } else {
-                categories.remove(cat);
-            }
-            
-            if (!categories.isEmpty()) {
-                catIndex = (catIndex + 1) % categories.size();
-            }
+        return dailyQuests;
+    }
+    
+    /**
+     * Get the daily quests for a player
+     */
+    public List<Quest> getDailyQuests(Player player) {
+        PlayerDaily state = players.get(player.getUniqueId());
+        if (state == null) {
+            loadPlayer(player);
+            state = players.get(player.getUniqueId());
         }
         
-        // Sort by category then sort order
-        selectedQuests.sort((a, b) -> {
-            int catCompare = a.getCategory().ordinal() - b.getCategory().ordinal();
-            return catCompare != 0 ? catCompare : a.getSortOrder() - b.getSortOrder();
-        });
+        // Check if we have cached quests for the player's current day
+        LocalDate date = currentDay(state.zone);
+        DayAssignment current = state.current;
+        if (current != null && current.date.equals(date)) {
+            return current.quests;
+        }
         
-        return selectedQuests;
+        return rollOver(player, state, date);
     }
     
     /**
-     * Get hard quests that span multiple days and are still active
+     * Map stored quest ids back to quests, skipping quests that no longer exist
      */
-    private List<Quest> getActiveMultiDayQuests(Player player, List<Quest> hardQuests) {
-        List<Quest> active = new ArrayList<>();
-        
-        for (Quest quest : hardQuests) {
-            if (quest.getDaysAvailable() > 1) {
-                // Check if this quest started on a previous day and is still within its window
-                int daysAgo = getDaysSinceQuestStart(quest);
-                if (daysAgo > 0 && daysAgo < quest.getDaysAvailable()) {
-                    // Quest is still active from a previous day
-                    active.add(quest);
-                }
+    private List<Quest> resolveQuests(List<String> ids) {
+        List<Quest> quests = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Quest quest = questManager.getQuest(id);
+            if (quest != null) {
+                quests.add(quest);
             }
         }
-        
-        return active;
+        return quests;
+    }
+    
+    private static List<String> toIds(List<Quest> quests) {
+        List<String> ids = new ArrayList<>(quests.size());
+        for (Quest quest : quests) {
+            ids.add(quest.getId());
+        }
+        return ids;
     }
     
     /**
      * Calculate days since a quest would have started (based on seed cycling)
      */
     public int getDaysSinceQuestStart(Quest quest) {
-        // Use quest ID hash to determine which day it started
-        int questHash = quest.getId().hashCode();
-        int cycleLength = quest.getDaysAvailable();
-        
-        // Calculate which day in the cycle we're on
-        long dayNumber = currentDate.toEpochDay();
-        int dayInCycle = (int) ((dayNumber + questHash) % cycleLength);
-        
-        return dayInCycle;
+        return DailyQuestSelector.getDaysSinceQuestStart(quest, currentDay(defaultZone));
     }
     
     /**
@@ -228,24 +337,32 @@ public class DailyQuestManager {
     }
     
     /**
-     * Get time until next daily reset
+     * Get time until next daily reset in the server's default reset zone
      */
     public Duration getTimeUntilReset() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime nextReset = LocalDate.now().atTime(resetHour, 0);
-        
-        if (now.isAfter(nextReset)) {
-            nextReset = nextReset.plusDays(1);
-        }
-        
-        return Duration.between(now, nextReset);
+        return Duration.between(ZonedDateTime.now(defaultZone), nextReset(defaultZone));
+    }
+    
+    /**
+     * Get time until a player's next daily reset
+     */
+    public Duration getTimeUntilReset(Player player) {
+        ZoneId zone = zoneOf(player);
+        return Duration.between(ZonedDateTime.now(zone), nextReset(zone));
     }
     
     /**
      * Format time until reset as a string
      */
     public String getTimeUntilResetFormatted() {
-        Duration duration = getTimeUntilReset();
+        return formatDuration(getTimeUntilReset());
+    }
+    
+    public String getTimeUntilResetFormatted(Player player) {
+        return formatDuration(getTimeUntilReset(player));
+    }
+    
+    private static String formatDuration(Duration duration) {
         long hours = duration.toHours();
         long minutes = duration.toMinutesPart();
         
@@ -256,6 +373,11 @@ public class DailyQuestManager {
         }
     }
     
+    private ZoneId zoneOf(Player player) {
+        PlayerDaily state = players.get(player.getUniqueId());
+        return state != null ? state.zone : getZone(player);
+    }
+    
     /**
      * Check if a quest is a daily quest for a player today
      */
@@ -267,11 +389,22 @@ public class DailyQuestManager {
      * Get the remaining days for a hard quest
      */
     public int getRemainingDays(Quest quest) {
+        return getRemainingDays(quest, currentDay(defaultZone));
+    }
+    
+    /**
+     * Get the remaining days for a hard quest in a player's time zone
+     */
+    public int getRemainingDays(Player player, Quest quest) {
+        return getRemainingDays(quest, currentDay(zoneOf(player)));
+    }
+    
+    private int getRemainingDays(Quest quest, LocalDate date) {
         if (!quest.isHardQuest() || quest.getDaysAvailable() <= 1) {
             return 1;
         }
         
-        int daysAgo = getDaysSinceQuestStart(quest);
+        int daysAgo = DailyQuestSelector.getDaysSinceQuestStart(quest, date);
         return Math.max(1, quest.getDaysAvailable() - daysAgo);
     }
     
@@ -280,19 +413,75 @@ public class DailyQuestManager {
      */
     public void reload() {
         loadConfig();
-        playerDailyQuests.clear();
+        for (PlayerDaily state : players.values()) {
+            state.cancelTasks();
+        }
+        players.clear();
+        // Assignments are persisted, so rebuilding the state keeps today's sets
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPlayer(player);
+        }
+    }
+    
+    /**
+     * Cancel all reset timers
+     */
+    public void shutdown() {
+        for (PlayerDaily state : players.values()) {
+            state.cancelTasks();
+        }
+        players.clear();
     }
     
     /**
-     * Data class for cached daily quests
+     * A player's daily quests for one day
      */
-    private static class DailyQuestData {
+    private static class DayAssignment {
         final LocalDate date;
         final List<Quest> quests;
+        // History including this day's quests, set when generated ahead of time
+        final RecentQuests recent;
         
-        DailyQuestData(LocalDate date, List<Quest> quests) {
+        DayAssignment(LocalDate date, List<Quest> quests, RecentQuests recent) {
             this.date = date;
             this.quests = quests;
+            this.recent = recent;
+        }
+    }
+    
+    /**
+     * Daily state of one online player
+     */
+    private static class PlayerDaily {
+        final ZoneId zone;
+        volatile DayAssignment current;
+        // Next day's set, generated in the background shortly before reset; main thread only
+        DayAssignment prepared;
+        BukkitTask resetTask;
+        BukkitTask prepareTask;
+        
+        PlayerDaily(ZoneId zone) {
+            this.zone = zone;
+        }
+        
+        void cancelTasks() {
+            if (resetTask != null) resetTask.cancel();
+            if (prepareTask != null) prepareTask.cancel();
+            resetTask = null;
+            prepareTask = null;
+        }
+    }
+    
+    /**
+     * Reset time zone for players with a permission
+     */
+    private static class ResetZone {
+        final String permission;
+        final ZoneId zone;
+        
+        ResetZone(String permission, ZoneId zone) {
+            this.permission = permission;
+            this.zone = zone;
         }
     }
 }
@@ -0,0 +1,136 @@
+package com.wdp.quest.quest;
+
+import com.wdp.quest.data.RecentQuests;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Picks a player's daily quests from the quest pools. Selection depends only
+ * on its arguments and the loaded quests, so it can run off the main thread
+ * and outside a server (see {@code tools.DailyRotationSimulator}).
+ */
+public class DailyQuestSelector {
+    
+    private final QuestManager questManager;
+    private final int questsPerDay;
+    
+    public DailyQuestSelector(QuestManager questManager, int questsPerDay) {
+        this.questManager = questManager;
+        this.questsPerDay = questsPerDay;
+    }
+    
+    public int getQuestsPerDay() {
+        return questsPerDay;
+    }
+    
+    /**
+     * Generate a consistent seed based on date
+     */
+    public static long generateDaySeed(LocalDate date) {
+        return date.toEpochDay() * 31 + 17;
+    }
+    
+    /**
+     * Select the daily quests of a player for a day, based on their progress.
+     * Quests in the player's recent history are only picked when nothing else is left.
+     */
+    public List<Quest> select(UUID uuid, double playerProgress, LocalDate date, RecentQuests recent) {
+        List<Quest> selectedQuests = new ArrayList<>(questsPerDay + 1);
+        Random random = new Random(generateDaySeed(date) + uuid.hashCode());
+        Predicate<Quest> avoid = recent.size() > 0 ? quest -> recent.contains(quest.getId()) : null;
+        
+        // First, add any multi-day hard quests that are still active
+        addActiveMultiDayQuests(playerProgress, date, selectedQuests);
+        
+        // Determine how many more quests we need
+        int remaining = questsPerDay - selectedQuests.size();
+        
+        // Try to add 1 hard quest if we don't have one yet
+        if (selectedQuests.isEmpty()) {
+            QuestPool.Sampler hard = questManager.getHardPool().sampler(playerProgress, random, avoid);
+            if (hard.hasNext()) {
+                selectedQuests.add(hard.next());
+                remaining--;
+            }
+        }
+        
+        // Fill with normal quests, drawing round-robin across categories for variety
+        QuestCategory[] categories = QuestCategory.values();
+        QuestPool.Sampler[] samplers = new QuestPool.Sampler[categories.length];
+        int open = 0;
+        for (QuestCategory category : categories) {
+            QuestPool.Sampler sampler = questManager.getNormalPool(category).sampler(playerProgress, random, avoid);
+            if (sampler.hasNext()) {
+                samplers[open++] = sampler;
+            }
+        }
+        
+        // Shuffle category order with the seeded random
+        for (int i = open - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            QuestPool.Sampler tmp = samplers[i];
+            samplers[i] = samplers[j];
+            samplers[j] = tmp;
+        }
+        
+        int catIndex = 0;
+        while (remaining > 0 && open > 0) {
+            QuestPool.Sampler sampler = samplers[catIndex];
+            selectedQuests.add(sampler.next());
+            remaining--;
+            
+            if (!sampler.hasNext()) {
+                // Drop the exhausted category, keeping the order of the rest
+                System.arraycopy(samplers, catIndex + 1, samplers, catIndex, open - catIndex - 1);
+                open--;
+            } else {
+                catIndex++;
+            }
+            if (catIndex >= open) {
+                catIndex = 0;
+            }
+        }
+        
+        // Sort by category then sort order
+        selectedQuests.sort((a, b) -> {
+            int catCompare = a.getCategory().ordinal() - b.getCategory().ordinal();
+            return catCompare != 0 ? catCompare : a.getSortOrder() - b.getSortOrder();
+        });
+        
+        return selectedQuests;
+    }
+    
+    /**
+     * Add hard quests that span multiple days and are still active
+     */
+    private void addActiveMultiDayQuests(double playerProgress, LocalDate date, List<Quest> selected) {
+        QuestPool pool = questManager.getMultiDayHardPool();
+        int eligible = pool.eligibleCount(playerProgress);
+        
+        for (int i = 0; i < eligible; i++) {
+            Quest quest = pool.get(i);
+            // Check if this quest started on a previous day and is still within its window
+            int daysAgo = getDaysSinceQuestStart(quest, date);
+            if (daysAgo > 0 && daysAgo < quest.getDaysAvailable()) {
+                selected.add(quest);
+            }
+        }
+    }
+    
+    /**
+     * Calculate days since a quest would have started (based on seed cycling)
+     */
+    public static int getDaysSinceQuestStart(Quest quest, LocalDate date) {
+        // Use quest ID hash to determine which day it started
+        int questHash = quest.getId().hashCode();
+        int cycleLength = quest.getDaysAvailable();
+        
+        // Calculate which day in the cycle we're on
+        long dayNumber = date.toEpochDay();
+        int dayInCycle = (int) ((dayNumber + questHash) % cycleLength);
+        
+        return dayInCycle;
+    }
+}
@@ -26,6 +26,8 @@ public class Quest {
     // Daily quest system fields
     private boolean hardQuest;      // Is this a hard quest?
     private int daysAvailable;      // How many days this quest is available (default 1, hard quests can be 2-3+)
+    private double weight;          // Relative chance of being picked for the daily rotation
+    private int index = -1;         // Dense index across all loaded quests, for array-backed lookups
     
     public Quest(String id) {
         this.id = id;
@@ -42,6 +44,7 @@ public class Quest {
         this.sortOrder = 0;
         this.hardQuest = false;
         this.daysAvailable = 1;
+        this.weight = 1.0;
     }
     
     // Builder pattern methods
@@ -76,12 +79,16 @@ public class Quest {
     }
     
     public Quest addObjective(QuestObjective objective) {
+        objective.index(objectives.size());
         this.objectives.add(objective);
         return this;
     }
     
     public Quest objectives(List<QuestObjective> objectives) {
         this.objectives = objectives;
+        for (int i = 0; i < objectives.size(); i++) {
+            objectives.get(i).index(i);
+        }
         return this;
     }
     
@@ -115,6 +122,15 @@ public class Quest {
         return this;
     }
     
+    public Quest weight(double weight) {
+        this.weight = Math.max(0, weight);
+        return this;
+    }
+    
+    void index(int index) {
+        this.index = index;
+    }
+    
     // Getters
     public String getId() { return id; }
     public String getDisplayName() { return displayName; }
@@ -130,6 +146,8 @@ public class Quest {
     public int getSortOrder() { return sortOrder; }
     public boolean isHardQuest() { return hardQuest; }
     public int getDaysAvailable() { return daysAvailable; }
+    public double getWeight() { return weight; }
+    public int getIndex() { return index; }
     
     /**
      * Get total objectives count
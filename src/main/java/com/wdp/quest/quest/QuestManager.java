@@ -10,6 +10,7 @@ import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
 import java.util.*;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
@@ -18,11 +19,33 @@ import java.util.stream.Collectors;
 public class QuestManager {
     
     private final WDPQuestPlugin plugin;
+    private final File dataFolder;
+    private final Logger logger;
     private final Map<String, Quest> quests = new LinkedHashMap<>();
     private final Map<QuestCategory, List<Quest>> questsByCategory = new EnumMap<>(QuestCategory.class);
     
+    // Daily generation pools, sorted by required progress. Replaced wholesale on
+    // reload so daily generation can read them off the main thread
+    private volatile Map<QuestCategory, QuestPool> normalPools = new EnumMap<>(QuestCategory.class);
+    private volatile QuestPool hardPool = QuestPool.empty();
+    private volatile QuestPool multiDayHardPool = QuestPool.empty();
+    private volatile List<Quest> hardQuests = Collections.emptyList();
+    private volatile List<Quest> normalQuests = Collections.emptyList();
+    
     public QuestManager(WDPQuestPlugin plugin) {
         this.plugin = plugin;
+        this.dataFolder = plugin.getDataFolder();
+        this.logger = plugin.getLogger();
+    }
+    
+    /**
+     * Create a quest manager without a running server, reading quest files from
+     * {@code dataFolder/quests}. Default quest files are not copied.
+     */
+    public QuestManager(File dataFolder, Logger logger) {
+        this.plugin = null;
+        this.dataFolder = dataFolder;
+        this.logger = logger;
     }
     
     /**
@@ -38,10 +61,12 @@ public class QuestManager {
         }
         
         // Save default quest files
-        saveDefaultQuests();
+        if (plugin != null) {
+            saveDefaultQuests();
+        }
         
         // Load quests from files
-        File questsDir = new File(plugin.getDataFolder(), "quests");
+        File questsDir = new File(dataFolder, "quests");
         if (!questsDir.exists()) {
             questsDir.mkdirs();
         }
@@ -53,12 +78,52 @@ public class QuestManager {
             }
         }
         
+        // Number quests densely so per-player state can live in arrays
+        int index = 0;
+        for (Quest quest : quests.values()) {
+            quest.index(index++);
+        }
+        
         // Sort quests by category and sort order
         for (QuestCategory category : QuestCategory.values()) {
             questsByCategory.get(category).sort(Comparator.comparingInt(Quest::getSortOrder));
         }
         
-        plugin.getLogger().info("Loaded " + quests.size() + " quests across " + QuestCategory.values().length + " categories");
+        buildPools();
+        
+        logger.info("Loaded " + quests.size() + " quests across " + QuestCategory.values().length + " categories");
+    }
+    
+    /**
+     * Split quests into per-category normal pools and hard pools for daily generation
+     */
+    private void buildPools() {
+        List<Quest> hard = new ArrayList<>();
+        List<Quest> multiDayHard = new ArrayList<>();
+        List<Quest> normal = new ArrayList<>();
+        Map<QuestCategory, List<Quest>> normalByCategory = new EnumMap<>(QuestCategory.class);
+        
+        for (Quest quest : quests.values()) {
+            if (quest.isHardQuest()) {
+                hard.add(quest);
+                if (quest.getDaysAvailable() > 1) {
+                    multiDayHard.add(quest);
+                }
+            } else {
+                normal.add(quest);
+                normalByCategory.computeIfAbsent(quest.getCategory(), c -> new ArrayList<>()).add(quest);
+            }
+        }
+        
+        Map<QuestCategory, QuestPool> pools = new EnumMap<>(QuestCategory.class);
+        for (QuestCategory category : QuestCategory.values()) {
+            pools.put(category, new QuestPool(normalByCategory.getOrDefault(category, Collections.emptyList())));
+        }
+        normalPools = pools;
+        hardPool = new QuestPool(hard);
+        multiDayHardPool = new QuestPool(multiDayHard);
+        hardQuests = Collections.unmodifiableList(hard);
+        normalQuests = Collections.unmodifiableList(normal);
     }
     
     private void saveDefaultQuests() {
@@ -95,7 +160,7 @@ public class QuestManager {
                     questsByCategory.get(quest.getCategory()).add(quest);
                 }
             } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load quest " + questId + ": " + e.getMessage());
+                logger.warning("Failed to load quest " + questId + ": " + e.getMessage());
             }
         }
     }
@@ -127,6 +192,7 @@ public class QuestManager {
         // Load hard quest settings
         quest.hardQuest(config.getBoolean("hard", false));
         quest.daysAvailable(config.getInt("days-available", quest.isHardQuest() ? 3 : 1));
+        quest.weight(config.getDouble("weight", 1.0));
         
         // Load objectives
         ConfigurationSection objectivesSection = config.getConfigurationSection("objectives");
@@ -249,18 +315,14 @@ public class QuestManager {
      * Get all hard quests
      */
     public List<Quest> getHardQuests() {
-        return quests.values().stream()
-                .filter(Quest::isHardQuest)
-                .collect(Collectors.toList());
+        return hardQuests;
     }
     
     /**
      * Get all normal (non-hard) quests
      */
     public List<Quest> getNormalQuests() {
-        return quests.values().stream()
-                .filter(q -> !q.isHardQuest())
-                .collect(Collectors.toList());
+        return normalQuests;
     }
     
     /**
@@ -272,4 +334,25 @@ public class QuestManager {
                 .filter(q -> includeHard || !q.isHardQuest())
                 .collect(Collectors.toList());
     }
+    
+    /**
+     * Get the normal quest pool for a category
+     */
+    public QuestPool getNormalPool(QuestCategory category) {
+        return normalPools.getOrDefault(category, QuestPool.empty());
+    }
+    
+    /**
+     * Get the pool of all hard quests
+     */
+    public QuestPool getHardPool() {
+        return hardPool;
+    }
+    
+    /**
+     * Get the pool of hard quests that stay available for more than one day
+     */
+    public QuestPool getMultiDayHardPool() {
+        return multiDayHardPool;
+    }
 }
@@ -12,6 +12,7 @@ public class QuestObjective {
     private final ObjectiveType type;
     private String description;
     private int targetAmount;
+    private int index = -1;         // Position within the quest, set when added
     
     // Type-specific data
     private Material material;      // For MINE, CRAFT, COLLECT, PLACE
@@ -46,6 +47,17 @@ public class QuestObjective {
         return this;
     }
     
+    void index(int index) {
+        this.index = index;
+    }
+    
+    /**
+     * Get the position of this objective within its quest
+     */
+    public int getIndex() {
+        return index;
+    }
+    
     /**
      * Check if an action matches this objective
      */
@@ -0,0 +1,177 @@
+package com.wdp.quest.quest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable set of quests sorted by required progress.
+ * The quests a player can take always form a prefix of the pool, so the
+ * eligible range is found with a binary search. Draws are weighted by
+ * {@link Quest#getWeight()} through an alias table per distinct prefix,
+ * built on first use and shared by every player. Quests with weight 0 are
+ * left out of the pool, so they are never offered.
+ */
+public class QuestPool {
+
+    private static final QuestPool EMPTY = new QuestPool(List.of());
+
+    // Give up on rejection sampling after this many misses and scan instead
+    private static final int MAX_REJECTIONS = 32;
+
+    private final Quest[] quests;
+    private final double[] thresholds;
+    private final double[] weights;
+    private final Map<Integer, AliasTable> aliasTables = new ConcurrentHashMap<>();
+
+    public QuestPool(Collection<Quest> source) {
+        this.quests = source.stream().filter(quest -> quest.getWeight() > 0).toArray(Quest[]::new);
+        Arrays.sort(quests, Comparator.comparingDouble(Quest::getRequiredProgress)
+            .thenComparingInt(Quest::getSortOrder)
+            .thenComparing(Quest::getId));
+        this.thresholds = new double[quests.length];
+        this.weights = new double[quests.length];
+        for (int i = 0; i < quests.length; i++) {
+            thresholds[i] = quests[i].getRequiredProgress();
+            weights[i] = quests[i].getWeight();
+        }
+    }
+
+    public static QuestPool empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get the number of quests whose required progress is at most the given value
+     */
+    public int eligibleCount(double progress) {
+        int low = 0;
+        int high = thresholds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= progress) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public Quest get(int index) {
+        return quests[index];
+    }
+
+    public int size() {
+        return quests.length;
+    }
+
+    public boolean isEmpty() {
+        return quests.length == 0;
+    }
+
+    /**
+     * Start drawing quests eligible at the given progress, weighted at random
+     */
+    public Sampler sampler(double progress, Random random) {
+        return sampler(progress, random, null);
+    }
+
+    /**
+     * Start drawing quests eligible at the given progress, weighted at random.
+     * Quests matching {@code avoid} are only drawn once nothing else is left.
+     */
+    public Sampler sampler(double progress, Random random, Predicate<Quest> avoid) {
+        int limit = eligibleCount(progress);
+        AliasTable table = limit == 0 ? null : aliasTables.computeIfAbsent(limit, n -> new AliasTable(weights, n));
+        return new Sampler(this, table, limit, random, avoid);
+    }
+
+    /**
+     * Draws distinct quests from a pool prefix. Each draw is an O(1) alias
+     * table lookup; already drawn or avoided quests are rejected and redrawn,
+     * with a linear scan as fallback once most candidates are used up.
+     */
+    public static class Sampler {
+        private final QuestPool pool;
+        private final AliasTable table;
+        private final int limit;
+        private final Random random;
+        private final Predicate<Quest> avoid;
+        private final boolean[] taken;
+        private int takenCount;
+
+        Sampler(QuestPool pool, AliasTable table, int limit, Random random, Predicate<Quest> avoid) {
+            this.pool = pool;
+            this.table = table;
+            this.limit = limit;
+            this.random = random;
+            this.avoid = avoid;
+            this.taken = new boolean[limit];
+        }
+
+        public boolean hasNext() {
+            return takenCount < limit;
+        }
+
+        /**
+         * Draw the next quest, or null once every eligible quest was drawn
+         */
+        public Quest next() {
+            if (!hasNext()) return null;
+
+            for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+                int index = table.sample(random);
+                if (taken[index]) continue;
+                if (avoid != null && avoid.test(pool.quests[index])) continue;
+                return take(index);
+            }
+
+            int index = scan(true);
+            if (index < 0) {
+                index = scan(false);
+            }
+            return take(index);
+        }
+
+        /**
+         * Weighted pick over the remaining candidates by walking the prefix
+         */
+        private int scan(boolean skipAvoided) {
+            double total = 0;
+            for (int i = 0; i < limit; i++) {
+                if (isCandidate(i, skipAvoided)) total += pool.weights[i];
+            }
+            if (total <= 0) {
+                // Weights are positive, so no candidates are left
+                return -1;
+            }
+
+            double target = random.nextDouble() * total;
+            int last = -1;
+            for (int i = 0; i < limit; i++) {
+                if (!isCandidate(i, skipAvoided)) continue;
+                last = i;
+                target -= pool.weights[i];
+                if (target < 0) return i;
+            }
+            return last;
+        }
+
+        private boolean isCandidate(int index, boolean skipAvoided) {
+            if (taken[index]) return false;
+            return !skipAvoided || avoid == null || !avoid.test(pool.quests[index]);
+        }
+
+        private Quest take(int index) {
+            taken[index] = true;
+            takenCount++;
+            return pool.quests[index];
+        }
+    }
+}
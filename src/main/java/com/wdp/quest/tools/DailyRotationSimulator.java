@@ -0,0 +1,335 @@
+package com.wdp.quest.tools;
+
+import com.wdp.quest.data.RecentQuests;
+import com.wdp.quest.quest.DailyQuestSelector;
+import com.wdp.quest.quest.Quest;
+import com.wdp.quest.quest.QuestManager;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Offline simulator for the daily quest rotation. Loads the quest YAML through
+ * {@link QuestManager}, runs {@link DailyQuestSelector} for synthetic players
+ * over several days and reports fairness, repeat rates and throughput.
+ * No server is needed; see the README for how to run it.
+ */
+public final class DailyRotationSimulator {
+
+    private static final int REPEAT_WINDOW_DAYS = 7;
+
+    private final QuestManager questManager;
+    private final DailyQuestSelector selector;
+    private final int players;
+    private final int days;
+    private final int historySize;
+    private final double growthPerDay;
+    private final long seed;
+
+    private DailyRotationSimulator(QuestManager questManager, Options options) {
+        this.questManager = questManager;
+        this.selector = new DailyQuestSelector(questManager, options.questsPerDay);
+        this.players = options.players;
+        this.days = options.days;
+        this.historySize = options.historySize;
+        this.growthPerDay = options.growthPerDay;
+        this.seed = options.seed;
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        QuestManager questManager = new QuestManager(options.dataFolder, Logger.getLogger("WDPQuest"));
+        questManager.loadQuests();
+        if (questManager.getAllQuests().isEmpty()) {
+            System.err.println("No quests found in " + new File(options.dataFolder, "quests").getAbsolutePath());
+            System.exit(1);
+            return;
+        }
+
+        DailyRotationSimulator simulator = new DailyRotationSimulator(questManager, options);
+        System.out.printf("Simulating %d players over %d days, %d quests per day, history %d, %d quests loaded%n",
+            options.players, options.days, options.questsPerDay, options.historySize, questManager.getAllQuests().size());
+
+        for (Distribution distribution : options.distributions) {
+            simulator.run(distribution).print();
+        }
+    }
+
+    /**
+     * Simulate every player for every day with one progress distribution
+     */
+    Report run(Distribution distribution) {
+        Random random = new Random(seed);
+        List<Quest> allQuests = new ArrayList<>(questManager.getAllQuests());
+        allQuests.sort(Comparator.comparingDouble(Quest::getRequiredProgress));
+        double[] thresholds = new double[allQuests.size()];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = allQuests.get(i).getRequiredProgress();
+        }
+
+        Report report = new Report(distribution, allQuests, selector.getQuestsPerDay());
+        LocalDate start = LocalDate.now();
+
+        for (int p = 0; p < players; p++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            double progress = distribution.sample(random);
+            RecentQuests recent = new RecentQuests(historySize);
+            Map<String, Integer> lastOffered = new HashMap<>();
+
+            for (int day = 0; day < days; day++) {
+                LocalDate date = start.plusDays(day);
+
+                long begin = System.nanoTime();
+                List<Quest> selected = selector.select(uuid, progress, date, recent);
+                report.nanos += System.nanoTime() - begin;
+                report.sets++;
+
+                for (Quest quest : selected) {
+                    recent.add(quest.getId());
+                }
+                report.record(selected, lastOffered, day);
+                report.recordEligible(upperBound(thresholds, progress));
+
+                progress = Math.min(100, progress + growthPerDay);
+            }
+        }
+        return report;
+    }
+
+    private static int upperBound(double[] thresholds, double progress) {
+        int low = 0;
+        int high = thresholds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= progress) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * How synthetic players' starting progress is spread
+     */
+    enum Distribution {
+        UNIFORM("uniform 0-100%"),
+        NEWCOMERS("skewed towards low progress"),
+        VETERANS("skewed towards high progress");
+
+        private final String description;
+
+        Distribution(String description) {
+            this.description = description;
+        }
+
+        double sample(Random random) {
+            double u = random.nextDouble();
+            return switch (this) {
+                case UNIFORM -> u * 100;
+                case NEWCOMERS -> u * u * 100;
+                case VETERANS -> Math.sqrt(u) * 100;
+            };
+        }
+    }
+
+    /**
+     * Statistics collected for one distribution
+     */
+    static final class Report {
+        private final Distribution distribution;
+        private final List<Quest> quests;
+        private final int questsPerDay;
+        private final Map<String, Integer> index = new HashMap<>();
+        private final long[] offered;
+        // Player-days on which each quest was eligible, via a difference array over the sorted quests
+        private final long[] eligibleDelta;
+
+        long sets;
+        long nanos;
+        long picks;
+        long shortSets;
+        long setsWithHard;
+        long categoryTotal;
+        long nextDayRepeats;
+        long windowRepeats;
+        long repeatCandidates;
+
+        Report(Distribution distribution, List<Quest> quests, int questsPerDay) {
+            this.distribution = distribution;
+            this.quests = quests;
+            this.questsPerDay = questsPerDay;
+            this.offered = new long[quests.size()];
+            this.eligibleDelta = new long[quests.size() + 1];
+            for (int i = 0; i < quests.size(); i++) {
+                index.put(quests.get(i).getId(), i);
+            }
+        }
+
+        void record(List<Quest> selected, Map<String, Integer> lastOffered, int day) {
+            picks += selected.size();
+            if (selected.size() < questsPerDay) shortSets++;
+
+            Set<Object> categories = new HashSet<>();
+            boolean hasHard = false;
+            for (Quest quest : selected) {
+                offered[index.get(quest.getId())]++;
+                categories.add(quest.getCategory());
+                hasHard |= quest.isHardQuest();
+
+                // Multi-day hard quests come back on purpose
+                if (quest.isHardQuest() && quest.getDaysAvailable() > 1) continue;
+                repeatCandidates++;
+                Integer last = lastOffered.put(quest.getId(), day);
+                if (last != null) {
+                    if (day - last == 1) nextDayRepeats++;
+                    if (day - last <= REPEAT_WINDOW_DAYS) windowRepeats++;
+                }
+            }
+            categoryTotal += categories.size();
+            if (hasHard) setsWithHard++;
+        }
+
+        void recordEligible(int eligibleCount) {
+            eligibleDelta[0]++;
+            eligibleDelta[eligibleCount]--;
+        }
+
+        void print() {
+            System.out.println();
+            System.out.println("== " + distribution.name().toLowerCase() + " (" + distribution.description + ") ==");
+
+            double seconds = nanos / 1e9;
+            System.out.printf("  throughput:        %,.0f sets/s (%.3f ms total per 1000 sets)%n",
+                seconds > 0 ? sets / seconds : 0, sets > 0 ? nanos / 1e6 / sets * 1000 : 0);
+            System.out.printf("  avg set size:      %.2f%n", sets > 0 ? (double) picks / sets : 0);
+            System.out.printf("  short sets:        %.1f%% (fewer than %d quests)%n", percent(shortSets, sets), questsPerDay);
+            System.out.printf("  avg categories:    %.2f per set%n", sets > 0 ? (double) categoryTotal / sets : 0);
+            System.out.printf("  sets with hard:    %.1f%%%n", percent(setsWithHard, sets));
+            System.out.printf("  next-day repeats:  %.1f%% of picks%n", percent(nextDayRepeats, repeatCandidates));
+            System.out.printf("  %d-day repeats:     %.1f%% of picks%n", REPEAT_WINDOW_DAYS, percent(windowRepeats, repeatCandidates));
+
+            // Fairness: how often each quest was offered per day it was eligible, relative to its weight
+            List<double[]> rates = new ArrayList<>();
+            long running = 0;
+            int neverOffered = 0;
+            long zeroWeightOffers = 0;
+            for (int i = 0; i < quests.size(); i++) {
+                running += eligibleDelta[i];
+                Quest quest = quests.get(i);
+                if (quest.getWeight() <= 0) {
+                    // Weight 0 means never offered, so any offer here is a bug
+                    zeroWeightOffers += offered[i];
+                    continue;
+                }
+                if (running == 0) continue;
+                if (offered[i] == 0) neverOffered++;
+                rates.add(new double[] {(double) offered[i] / running / quest.getWeight(), i});
+            }
+            System.out.printf("  zero-weight offers: %d (should be 0)%n", zeroWeightOffers);
+            if (rates.isEmpty()) {
+                System.out.println("  fairness:          no eligible quests");
+                return;
+            }
+
+            double mean = 0;
+            for (double[] rate : rates) mean += rate[0];
+            mean /= rates.size();
+            double variance = 0;
+            for (double[] rate : rates) variance += (rate[0] - mean) * (rate[0] - mean);
+            double cv = mean > 0 ? Math.sqrt(variance / rates.size()) / mean : 0;
+
+            rates.sort(Comparator.comparingDouble(rate -> rate[0]));
+            System.out.printf("  fairness (CV):     %.3f over %d eligible quests (0 = perfectly even)%n", cv, rates.size());
+            System.out.printf("  never offered:     %d%n", neverOffered);
+            System.out.printf("  least offered:     %s%n", describe(rates.get(0), mean));
+            System.out.printf("  most offered:      %s%n", describe(rates.get(rates.size() - 1), mean));
+        }
+
+        private String describe(double[] rate, double mean) {
+            Quest quest = quests.get((int) rate[1]);
+            return String.format("%s (%.2fx average)", quest.getId(), mean > 0 ? rate[0] / mean : 0);
+        }
+
+        private static double percent(long part, long total) {
+            return total > 0 ? part * 100.0 / total : 0;
+        }
+    }
+
+    /**
+     * Command line options
+     */
+    static final class Options {
+        static final String USAGE = """
+            Usage: DailyRotationSimulator [options]
+              --data <dir>            folder containing quests/*.yml (default: src/main/resources)
+              --players <n>           synthetic players (default: 1000)
+              --days <n>              simulated days (default: 30)
+              --quests-per-day <n>    daily quest count (default: 5)
+              --history-size <n>      recent quests remembered per player (default: 15)
+              --growth <percent>      progress gained per day (default: 0.5)
+              --distribution <list>   comma-separated: uniform,newcomers,veterans (default: all)
+              --seed <n>              random seed (default: 42)""";
+
+        File dataFolder = new File("src/main/resources");
+        int players = 1000;
+        int days = 30;
+        int questsPerDay = 5;
+        int historySize = 15;
+        double growthPerDay = 0.5;
+        long seed = 42;
+        List<Distribution> distributions = List.of(Distribution.values());
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--help") || arg.equals("-h")) {
+                    throw new IllegalArgumentException("");
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                try {
+                    switch (arg) {
+                        case "--data" -> options.dataFolder = new File(value);
+                        case "--players" -> options.players = Math.max(1, Integer.parseInt(value));
+                        case "--days" -> options.days = Math.max(1, Integer.parseInt(value));
+                        case "--quests-per-day" -> options.questsPerDay = Math.max(1, Integer.parseInt(value));
+                        case "--history-size" -> options.historySize = Math.max(0, Integer.parseInt(value));
+                        case "--growth" -> options.growthPerDay = Math.max(0, Double.parseDouble(value));
+                        case "--seed" -> options.seed = Long.parseLong(value);
+                        case "--distribution" -> {
+                            List<Distribution> list = new ArrayList<>();
+                            for (String name : value.split(",")) {
+                                try {
+                                    list.add(Distribution.valueOf(name.trim().toUpperCase()));
+                                } catch (IllegalArgumentException e) {
+                                    throw new IllegalArgumentException("Unknown distribution " + name);
+                                }
+                            }
+                            options.distributions = list;
+                        }
+                        default -> throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for " + arg + ": " + value);
+                }
+            }
+            return options;
+        }
+    }
+}
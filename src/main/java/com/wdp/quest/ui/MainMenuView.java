@@ -0,0 +1,47 @@
+package com.wdp.quest.ui;
+
+import com.wdp.quest.quest.Quest;
+
+import java.util.List;
+
+/**
+ * Everything the main menu shows that comes from other plugins (balances,
+ * WDP-Progress) plus the page of quests it was built for. Balances are read
+ * on the main thread, progress may be looked up off it; items are built from
+ * the view on the main thread. Quest progress itself is read from the
+ * player's data while building items, as that data is only changed on the
+ * main thread.
+ */
+final class MainMenuView {
+
+    static final int QUESTS_PER_PAGE = 3;
+
+    final int page;
+    final int totalPages;
+    final int startIndex;
+    final int questCount;
+    // Quests shown on this page, in row order
+    final List<Quest> quests;
+    final double coins;
+    final int tokens;
+    final double playerProgress;
+
+    MainMenuView(int page, List<Quest> dailyQuests, double coins, int tokens, double playerProgress) {
+        this.page = page;
+        this.totalPages = (int) Math.ceil((double) dailyQuests.size() / QUESTS_PER_PAGE);
+        this.startIndex = page * QUESTS_PER_PAGE;
+        this.questCount = dailyQuests.size();
+        int from = Math.min(startIndex, questCount);
+        this.quests = List.copyOf(dailyQuests.subList(from, Math.min(from + QUESTS_PER_PAGE, questCount)));
+        this.coins = coins;
+        this.tokens = tokens;
+        this.playerProgress = playerProgress;
+    }
+
+    /**
+     * One past the index of the last quest on this page
+     */
+    int getEndIndex() {
+        return Math.min(startIndex + QUESTS_PER_PAGE, questCount);
+    }
+}
@@ -0,0 +1,37 @@
+package com.wdp.quest.ui;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * The slots of a quest menu as rendered, before they are written into an
+ * inventory. Rendering into a model lets {@link MenuSession} send only the
+ * slots that changed since the last render.
+ */
+final class MenuModel {
+    
+    private final ItemStack[] items;
+    
+    MenuModel(int size) {
+        this.items = new ItemStack[size];
+    }
+    
+    int getSize() {
+        return items.length;
+    }
+    
+    ItemStack getItem(int slot) {
+        return items[slot];
+    }
+    
+    void setItem(int slot, ItemStack item) {
+        if (slot >= 0 && slot < items.length) {
+            items[slot] = item;
+        }
+    }
+    
+    void clear() {
+        Arrays.fill(items, null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.wdp.quest.ui;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * An open quest menu: its inventory, kept for page flips and detail views,
+ * and the model that was last written into it. Two models are swapped so
+ * re-rendering allocates nothing.
+ */
+final class MenuSession {
+    
+    final Inventory inventory;
+    private MenuModel shown;
+    private MenuModel spare;
+    
+    MenuSession(Inventory inventory) {
+        this.inventory = inventory;
+        this.shown = new MenuModel(inventory.getSize());
+        this.spare = new MenuModel(inventory.getSize());
+    }
+    
+    /**
+     * An empty model to render the next state into
+     */
+    MenuModel nextModel() {
+        spare.clear();
+        return spare;
+    }
+    
+    /**
+     * A model holding what is shown now, to re-render part of the menu into
+     */
+    MenuModel copyOfShown() {
+        for (int slot = 0; slot < shown.getSize(); slot++) {
+            spare.setItem(slot, shown.getItem(slot));
+        }
+        return spare;
+    }
+    
+    /**
+     * Write the slots that differ from the last applied model
+     * @return number of slots written
+     */
+    int apply(MenuModel model) {
+        int changed = 0;
+        for (int slot = 0; slot < model.getSize(); slot++) {
+            ItemStack next = model.getItem(slot);
+            ItemStack current = shown.getItem(slot);
+            if (next == current || (next != null && next.equals(current))) continue;
+            inventory.setItem(slot, next);
+            changed++;
+        }
+        spare = shown;
+        shown = model;
+        return changed;
+    }
+}
@@ -0,0 +1,115 @@
+package com.wdp.quest.ui;
+
+import com.wdp.quest.WDPQuestPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Progress bar segment items, built once and shared. A segment only depends
+ * on its style (normal/hard), its fill level and the overall percentage in
+ * its lore, so there are at most 2 × 6 × 101 different items. Each is built
+ * the first time it is needed; inventories copy items on setItem, so the
+ * same instance can be handed to every menu. Cleared on reload, as the lore
+ * comes from messages.yml.
+ */
+final class ProgressSegmentCache {
+    
+    static final int FILLS_PER_SEGMENT = 5;
+    
+    private final WDPQuestPlugin plugin;
+    // [hard ? 1 : 0][fill level 0-5][overall percent 0-100]
+    private final ItemStack[][][] segments = new ItemStack[2][FILLS_PER_SEGMENT + 1][101];
+    // Item with the resource pack model, per style and fill level; copied for each percentage
+    private final ItemStack[][] models = new ItemStack[2][FILLS_PER_SEGMENT + 1];
+    
+    ProgressSegmentCache(WDPQuestPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * The segment item for a fill level (0-5) of a bar at the given overall completion
+     */
+    ItemStack get(boolean isHard, int fillLevel, double completion) {
+        int style = isHard ? 1 : 0;
+        int percent = (int) Math.max(0, Math.min(100, Math.round(completion)));
+        ItemStack item = segments[style][fillLevel][percent];
+        if (item == null) {
+            item = build(isHard, fillLevel, percent);
+            segments[style][fillLevel][percent] = item;
+        }
+        return item;
+    }
+    
+    /**
+     * Drop all built items, e.g. after messages were reloaded
+     */
+    void clear() {
+        for (int style = 0; style < 2; style++) {
+            for (int fill = 0; fill <= FILLS_PER_SEGMENT; fill++) {
+                models[style][fill] = null;
+                Arrays.fill(segments[style][fill], null);
+            }
+        }
+    }
+    
+    private ItemStack build(boolean isHard, int fillLevel, int percent) {
+        ItemStack item = getModel(isHard, fillLevel).clone();
+        ItemMeta meta = item.getItemMeta();
+        
+        if (meta != null) {
+            // Visual feedback in name and lore (fallback without resource pack)
+            String color = isHard ? "§c" : "§a";
+            meta.setDisplayName(createSegmentVisual(fillLevel, isHard));
+            meta.setLore(List.of(" ",
+                plugin.getMessages().get("menu.main.progress-bar.overall", "color", color, "progress", String.valueOf(percent))));
+            meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES, ItemFlag.HIDE_ADDITIONAL_TOOLTIP);
+            item.setItemMeta(meta);
+        }
+        
+        return item;
+    }
+    
+    private ItemStack getModel(boolean isHard, int fillLevel) {
+        int style = isHard ? 1 : 0;
+        ItemStack model = models[style][fillLevel];
+        if (model != null) return model;
+        
+        // Use the NEW 1.21+ item model system
+        // Each progress level has its own item definition in wdp_quest namespace
+        String modelType = isHard ? "hard" : "normal";
+        String modelName = "progress_" + modelType + "_" + fillLevel;
+        
+        try {
+            // Use NBT to set the item_model component
+            model = Bukkit.getItemFactory().createItemStack(
+                "minecraft:paper[minecraft:item_model=\"wdp_quest:" + modelName + "\"]"
+            );
+        } catch (Exception e) {
+            // Fallback for older versions or if the above fails
+            plugin.getLogger().warning("Failed to set item_model, falling back to plain item: " + e.getMessage());
+            model = new ItemStack(Material.PAPER);
+        }
+        models[style][fillLevel] = model;
+        return model;
+    }
+    
+    /**
+     * Creates a visual representation of a single segment (fallback).
+     */
+    private static String createSegmentVisual(int fillLevel, boolean isHard) {
+        String filled = isHard ? "§c█" : "§a█";
+        String empty = "§7░";
+        
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < FILLS_PER_SEGMENT; i++) {
+            bar.append(i < fillLevel ? filled : empty);
+        }
+        return bar.toString();
+    }
+}
@@ -1,7 +1,11 @@
 package com.wdp.quest.ui;
 
 import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.config.MenuContext;
+import com.wdp.quest.config.NavbarLayout;
 import com.wdp.quest.data.PlayerQuestData;
+import com.wdp.quest.data.ProgressChangeListener;
+import com.wdp.quest.integrations.ProgressIntegration;
 import com.wdp.quest.quest.Quest;
 import com.wdp.quest.quest.QuestObjective;
 import org.bukkit.Bukkit;
@@ -13,12 +17,18 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.logging.Level;
 
 /**
  * Handles quest menu creation and display.
@@ -26,10 +36,23 @@ import java.util.UUID;
  * Each quest has 1 icon slot + 8 progress bar segments.
  * Progress bar uses Custom Model Data for resource pack textures.
  */
-public class QuestMenuHandler {
+public class QuestMenuHandler implements ProgressChangeListener {
     
     private final WDPQuestPlugin plugin;
     private final Map<UUID, MenuState> openMenus = new HashMap<>();
+    private final Map<UUID, MenuSession> sessions = new HashMap<>();
+    // Quests changed per player with an open menu, refreshed every gui.live-refresh-ticks
+    private final Map<UUID, Set<String>> dirtyQuests = new HashMap<>();
+    private BukkitTask refreshTask;
+    // Navbar items without placeholders and filler panes, built once
+    private final Map<NavbarLayout.Item, ItemStack> staticNavbarItems = new IdentityHashMap<>();
+    private NavbarLayout staticNavbarLayout;
+    private final Map<Material, ItemStack> fillers = new EnumMap<>(Material.class);
+    private final ProgressSegmentCache segmentCache;
+    // Newest main menu render request per player, while its data is loading
+    private final Map<UUID, Integer> pendingRenders = new HashMap<>();
+    private int renderRequests;
+    private boolean asyncRender = true;
     
     // Progress bar Custom Model Data values
     // Simple format: 100X for normal (1000-1005), 101X for hard (1010-1015)
@@ -39,10 +62,103 @@ public class QuestMenuHandler {
     
     // Total progress units: 8 segments × 5 fills each = 40 units = 100%
     private static final int SEGMENTS = 8;
-    private static final int FILLS_PER_SEGMENT = 5;
+    private static final int FILLS_PER_SEGMENT = ProgressSegmentCache.FILLS_PER_SEGMENT;
+    
+    // Quest row positions: row 0 (slots 0-8), row 2 (slots 18-26), row 4 (slots 36-44)
+    private static final int[] QUEST_ROW_STARTS = {0, 18, 36};
     
     public QuestMenuHandler(WDPQuestPlugin plugin) {
         this.plugin = plugin;
+        this.segmentCache = new ProgressSegmentCache(plugin);
+    }
+    
+    /**
+     * Read render settings and start refreshing open menus when their player's progress changes
+     */
+    public void start() {
+        asyncRender = plugin.getConfig().getBoolean("gui.async-render", true);
+        int interval = plugin.getConfig().getInt("gui.live-refresh-ticks", 10);
+        if (interval <= 0) return;
+        plugin.getPlayerQuestManager().addProgressListener(this);
+        refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refreshDirty, interval, interval);
+    }
+    
+    /**
+     * Stop live refreshing
+     */
+    public void shutdown() {
+        plugin.getPlayerQuestManager().removeProgressListener(this);
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        dirtyQuests.clear();
+    }
+    
+    /**
+     * Apply a changed refresh interval and rebuild progress bars from reloaded messages
+     */
+    public void reload() {
+        segmentCache.clear();
+        shutdown();
+        start();
+    }
+    
+    @Override
+    public void onProgressChange(Player player, String questId) {
+        if (openMenus.containsKey(player.getUniqueId())) {
+            dirtyQuests.computeIfAbsent(player.getUniqueId(), uuid -> new HashSet<>()).add(questId);
+        }
+    }
+    
+    /**
+     * Re-render the parts of open menus whose quests changed since the last run
+     */
+    private void refreshDirty() {
+        if (dirtyQuests.isEmpty()) return;
+        
+        for (Map.Entry<UUID, Set<String>> entry : dirtyQuests.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            MenuState state = openMenus.get(entry.getKey());
+            MenuSession session = player != null ? getOpenSession(player) : null;
+            if (state == null || session == null) continue;
+            
+            Set<String> questIds = entry.getValue();
+            if (state.type == MenuType.MAIN) {
+                refreshMainRows(player, state, session, questIds);
+            } else if (questIds.contains(state.data)) {
+                Quest quest = plugin.getQuestManager().getQuest(state.data);
+                if (quest != null) {
+                    openQuestDetail(player, quest, state.page, true);
+                }
+            }
+        }
+        dirtyQuests.clear();
+    }
+    
+    /**
+     * Re-render the main menu rows showing one of the changed quests, plus the
+     * navbar, whose player head and balances reflect overall progress. Unchanged
+     * slots are skipped when the model is applied.
+     */
+    private void refreshMainRows(Player player, MenuState state, MenuSession session, Set<String> questIds) {
+        List<Quest> dailyQuests = plugin.getDailyQuestManager().getDailyQuests(player);
+        MenuModel inv = session.copyOfShown();
+        double playerProgress = plugin.getProgressIntegration().getPlayerProgress(player);
+        PlayerQuestData playerData = plugin.getPlayerQuestManager().getPlayerData(player);
+        MainMenuView view = new MainMenuView(state.page, dailyQuests,
+            plugin.getEconomyIntegration().getCoins(player),
+            (int) plugin.getEconomyIntegration().getTokens(player),
+            playerProgress);
+        
+        for (int i = 0; i < view.quests.size(); i++) {
+            Quest quest = view.quests.get(i);
+            if (questIds.contains(quest.getId())) {
+                renderQuestRow(inv, QUEST_ROW_STARTS[i], quest, playerProgress, playerData);
+            }
+        }
+        applyNavbar(inv, player, "main_menu", view, playerData);
+        session.apply(inv);
     }
     
     /**
@@ -64,41 +180,59 @@ public class QuestMenuHandler {
     }
     
     public void openMainMenu(Player player, int page, boolean updateOnly) {
-        Inventory inv = Bukkit.createInventory(player, 54,
-            plugin.getConfigManager().getMainMenuTitle());
-        
-        double playerProgress = plugin.getProgressIntegration().getPlayerProgress(player);
-        PlayerQuestData playerData = plugin.getPlayerQuestManager().getPlayerData(player);
-        List<Quest> dailyQuests = plugin.getDailyQuestManager().getDailyQuests(player);
-        
-        fillBackground(inv, Material.BLACK_STAINED_GLASS_PANE);
-        
+        boolean inPlace = updateOnly && getOpenSession(player) != null;
+        // Copied, the view is built from it on another thread
+        List<Quest> dailyQuests = List.copyOf(plugin.getDailyQuestManager().getDailyQuests(player));
+        // Economy providers aren't guaranteed thread-safe; balances are cached, so read them here
         double coins = plugin.getEconomyIntegration().getCoins(player);
         int tokens = (int) plugin.getEconomyIntegration().getTokens(player);
         
-        // === QUESTS (3 per page) ===
-        int questsPerPage = 3;
-        int startIndex = page * questsPerPage;
-        int totalPages = (int) Math.ceil((double) dailyQuests.size() / questsPerPage);
+        ProgressIntegration progress = plugin.getProgressIntegration();
+        if (!asyncRender || !progress.isAsyncSafe()) {
+            MainMenuView view = new MainMenuView(page, dailyQuests, coins, tokens, progress.getPlayerProgress(player));
+            renderMainMenu(player, view, inPlace);
+            return;
+        }
         
-        // Quest row positions: row 0 (slots 0-8), row 2 (slots 18-26), row 4 (slots 36-44)
-        int[] questRowStarts = {0, 18, 36};
+        // Progress is looked up off the main thread; only the newest request of a player is rendered
+        int request = ++renderRequests;
+        pendingRenders.put(player.getUniqueId(), request);
+        UUID uuid = player.getUniqueId();
         
-        for (int i = 0; i < questsPerPage && (startIndex + i) < dailyQuests.size(); i++) {
-            Quest quest = dailyQuests.get(startIndex + i);
-            int rowStart = questRowStarts[i];
-            
-            // Quest icon (first slot of row)
-            inv.setItem(rowStart, createQuestIcon(quest, playerProgress, playerData));
-            
-            // Progress bar (8 segments)
-            double completion = getQuestCompletion(quest, playerData);
-            boolean isHard = quest.isHardQuest();
-            
-            for (int seg = 0; seg < SEGMENTS; seg++) {
-                int slot = rowStart + 1 + seg;
-                inv.setItem(slot, createProgressSegment(seg, completion, isHard, SEGMENTS));
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            double playerProgress;
+            try {
+                playerProgress = progress.getPlayerProgress(player);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to load menu data for " + player.getName(), e);
+                playerProgress = 0;
             }
+            if (!plugin.isEnabled()) return;
+            
+            MainMenuView view = new MainMenuView(page, dailyQuests, coins, tokens, playerProgress);
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (!pendingRenders.remove(uuid, request) || !player.isOnline()) return;
+                // The menu was closed while loading
+                if (inPlace && getOpenSession(player) == null) return;
+                renderMainMenu(player, view, inPlace);
+            });
+        });
+    }
+    
+    /**
+     * Build the main menu items from a loaded view and show them
+     */
+    private void renderMainMenu(Player player, MainMenuView view, boolean inPlace) {
+        MenuSession session = inPlace ? getOpenSession(player) : null;
+        MenuModel inv = session != null ? session.nextModel() : new MenuModel(54);
+        
+        PlayerQuestData playerData = plugin.getPlayerQuestManager().getPlayerData(player);
+        
+        fillBackground(inv, Material.BLACK_STAINED_GLASS_PANE);
+        
+        // === QUESTS (3 per page) ===
+        for (int i = 0; i < view.quests.size(); i++) {
+            renderQuestRow(inv, QUEST_ROW_STARTS[i], view.quests.get(i), view.playerProgress, playerData);
         }
         
         // === SEPARATORS (rows 1 and 3) ===
@@ -106,27 +240,35 @@ public class QuestMenuHandler {
         fillRow(inv, 3, Material.GRAY_STAINED_GLASS_PANE);
         
         // === BOTTOM NAVIGATION BAR (row 5, slots 45-53) ===
-        applyNavbar(inv, player, "main_menu", page, totalPages, startIndex, questsPerPage, coins, tokens);
+        applyNavbar(inv, player, "main_menu", view, playerData);
         
-        openMenus.put(player.getUniqueId(), new MenuState(MenuType.MAIN, null, page));
-        
-        if (updateOnly) {
-            // Update existing inventory to prevent close event
-            Inventory existingInv = player.getOpenInventory().getTopInventory();
-            if (existingInv != null && existingInv.getSize() == 54) {
-                existingInv.clear();
-                for (int i = 0; i < inv.getSize(); i++) {
-                    existingInv.setItem(i, inv.getItem(i));
-                }
-                player.updateInventory();
-                return;
-            }
+        MenuState state = new MenuState(MenuType.MAIN, null, view.page);
+        if (session != null) {
+            // Update the open inventory in place (no close event), sending only changed slots
+            session.apply(inv);
+            openMenus.put(player.getUniqueId(), state);
+            return;
         }
         
-        player.openInventory(inv);
+        open(player, Bukkit.createInventory(player, 54, plugin.getConfigManager().getMainMenuTitle()), inv, state);
         player.playSound(player.getLocation(), plugin.getConfigManager().getSound("open-menu"), 0.5f, 1.0f);
     }
     
+    /**
+     * Quest icon (first slot of the row) and its progress bar (8 segments)
+     */
+    private void renderQuestRow(MenuModel inv, int rowStart, Quest quest, double playerProgress, PlayerQuestData playerData) {
+        inv.setItem(rowStart, createQuestIcon(quest, playerProgress, playerData));
+        
+        double completion = getQuestCompletion(quest, playerData);
+        boolean isHard = quest.isHardQuest();
+        
+        for (int seg = 0; seg < SEGMENTS; seg++) {
+            int slot = rowStart + 1 + seg;
+            inv.setItem(slot, createProgressSegment(seg, completion, isHard, SEGMENTS));
+        }
+    }
+    
     /**
      * Opens the quest detail view.
      */
@@ -146,8 +288,8 @@ public class QuestMenuHandler {
      * @param updateOnly If true, updates existing inventory instead of creating new one
      */
     public void openQuestDetail(Player player, Quest quest, int fromPage, boolean updateOnly) {
-        Inventory inv = Bukkit.createInventory(null, 54,
-            plugin.getConfigManager().getDetailMenuTitle(quest.getDisplayName()));
+        MenuSession session = updateOnly ? getOpenSession(player) : null;
+        MenuModel inv = session != null ? session.nextModel() : new MenuModel(54);
         
         PlayerQuestData playerData = plugin.getPlayerQuestManager().getPlayerData(player);
         PlayerQuestData.QuestProgress questProgress = playerData.getQuestProgress(quest.getId());
@@ -219,22 +361,15 @@ public class QuestMenuHandler {
         // === ROW 5: Bottom navigation bar ===
         applyNavbar(inv, player, "detail_menu", quest, playerData, isActive, isCompleted);
         
-        openMenus.put(player.getUniqueId(), new MenuState(MenuType.DETAIL, quest.getId(), fromPage));
-        
-        if (updateOnly) {
-            // Update existing inventory to prevent close event
-            Inventory existingInv = player.getOpenInventory().getTopInventory();
-            if (existingInv != null && existingInv.getSize() == 54) {
-                existingInv.clear();
-                for (int i = 0; i < inv.getSize(); i++) {
-                    existingInv.setItem(i, inv.getItem(i));
-                }
-                player.updateInventory();
-                return;
-            }
+        if (session != null) {
+            // Update the open inventory in place (no close event), sending only changed slots
+            session.apply(inv);
+            openMenus.put(player.getUniqueId(), new MenuState(MenuType.DETAIL, quest.getId(), fromPage));
+            return;
         }
         
-        player.openInventory(inv);
+        open(player, Bukkit.createInventory(null, 54, plugin.getConfigManager().getDetailMenuTitle(quest.getDisplayName())), inv,
+            new MenuState(MenuType.DETAIL, quest.getId(), fromPage));
         player.playSound(player.getLocation(), plugin.getConfigManager().getSound("click"), 0.5f, 1.0f);
     }
     
@@ -260,76 +395,24 @@ public class QuestMenuHandler {
     }
     
     /**
-     * Creates a progress bar segment item with proper Custom Model Data.
+     * Progress bar segment item with the resource pack model for its fill level.
+     * Shared from the segment cache, so rendering a bar builds no items.
      * 
      * @param segmentIndex Which segment (0-7)
      * @param completion Overall completion percentage (0-100)
      * @param isHard Whether this is a hard quest (red vs green)
-     * @param length Unused parameter for future use
+     * @param length Number of segments in the bar
      */
     private ItemStack createProgressSegment(int segmentIndex, double completion, boolean isHard, int length) {
         // Convert percentage to units (0-40)
-
-        int TOTAL_UNITS = length * FILLS_PER_SEGMENT; // 40
-        int totalFilledUnits = (int) Math.round(completion / 100.0 * TOTAL_UNITS);
+        int totalUnits = length * FILLS_PER_SEGMENT; // 40
+        int totalFilledUnits = (int) Math.round(completion / 100.0 * totalUnits);
         
         // Calculate this segment's fill level (0-5)
         int unitsBeforeThis = segmentIndex * FILLS_PER_SEGMENT;
         int unitsInThisSegment = Math.max(0, Math.min(FILLS_PER_SEGMENT, totalFilledUnits - unitsBeforeThis));
         
-        // Use the NEW 1.21+ item model system
-        // Each progress level has its own item definition in wdp_quest namespace
-        String modelType = isHard ? "hard" : "normal";
-        String modelName = "progress_" + modelType + "_" + unitsInThisSegment;
-        
-        // Create item using any base material (will be replaced by resource pack)
-        ItemStack item = new ItemStack(Material.PAPER);
-        ItemMeta meta = item.getItemMeta();
-        
-        if (meta != null) {
-            // Set the item model component (NEW 1.21.4+ way)
-            // This tells Minecraft to use our custom item definition
-            try {
-                // Use NBT to set the item_model component
-                item = Bukkit.getItemFactory().createItemStack(
-                    "minecraft:paper[minecraft:item_model=\"wdp_quest:" + modelName + "\"]"
-                );
-                meta = item.getItemMeta();
-            } catch (Exception e) {
-                // Fallback for older versions or if the above fails
-                plugin.getLogger().warning("Failed to set item_model, falling back to plain item: " + e.getMessage());
-            }
-            
-            // Visual feedback in name and lore (fallback without resource pack)
-            String color = isHard ? "§c" : "§a";
-            String segmentBar = createSegmentVisual(unitsInThisSegment, isHard);
-            
-            meta.setDisplayName(segmentBar);
-            
-            List<String> lore = new ArrayList<>();
-            lore.add(" ");
-            lore.add(plugin.getMessages().get("menu.main.progress-bar.overall", "color", color, "progress", String.format("%.0f", completion)));
-            
-            meta.setLore(lore);
-            meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES, ItemFlag.HIDE_ADDITIONAL_TOOLTIP);
-            item.setItemMeta(meta);
-        }
-        
-        return item;
-    }
-    
-    /**
-     * Creates a visual representation of a single segment (fallback).
-     */
-    private String createSegmentVisual(int fillLevel, boolean isHard) {
-        String filled = isHard ? "§c█" : "§a█";
-        String empty = "§7░";
-
-        StringBuilder bar = new StringBuilder();
-        for (int i = 0; i < FILLS_PER_SEGMENT; i++) {
-            bar.append(i < fillLevel ? filled : empty);
-        }
-        return bar.toString();
+        return segmentCache.get(isHard, unitsInThisSegment, completion);
     }
 
     /**
@@ -488,7 +571,7 @@ public class QuestMenuHandler {
             }
             
             // Time until reset
-            String timeLeft = plugin.getDailyQuestManager().getTimeUntilResetFormatted();
+            String timeLeft = plugin.getDailyQuestManager().getTimeUntilResetFormatted(player);
             lore.add(ChatColor.translateAlternateColorCodes('§', plugin.getMessages().get("menu.main.player-head.time-left", "time", timeLeft)));
             
             // Daily quests completed out of 5
@@ -496,7 +579,7 @@ public class QuestMenuHandler {
             
             // Hard quest info if present
             if (activeHardQuest != null) {
-                int daysLeft = plugin.getDailyQuestManager().getRemainingDays(activeHardQuest);
+                int daysLeft = plugin.getDailyQuestManager().getRemainingDays(player, activeHardQuest);
                 lore.add("");
                 lore.add(ChatColor.translateAlternateColorCodes('§', plugin.getMessages().get("menu.main.player-head.hard-quest-label")));
                 String plural = daysLeft != 1 ? "s" : "";
@@ -510,21 +593,28 @@ public class QuestMenuHandler {
         return head;
     }
     
-    private void fillBackground(Inventory inv, Material material) {
-        ItemStack filler = createItem(material, " ");
+    private void fillBackground(MenuModel inv, Material material) {
+        ItemStack filler = getFiller(material);
         for (int i = 0; i < inv.getSize(); i++) {
             inv.setItem(i, filler);
         }
     }
     
-    private void fillRow(Inventory inv, int row, Material material) {
-        ItemStack filler = createItem(material, " ");
+    private void fillRow(MenuModel inv, int row, Material material) {
+        ItemStack filler = getFiller(material);
         int start = row * 9;
         for (int i = 0; i < 9; i++) {
             inv.setItem(start + i, filler);
         }
     }
     
+    /**
+     * Shared blank filler pane; inventories copy it on setItem
+     */
+    private ItemStack getFiller(Material material) {
+        return fillers.computeIfAbsent(material, m -> createItem(m, " "));
+    }
+    
     private ItemStack createItem(Material material, String name, String... lore) {
         ItemStack item = new ItemStack(material);
         ItemMeta meta = item.getItemMeta();
@@ -557,12 +647,37 @@ public class QuestMenuHandler {
     
     // === MENU STATE ===
     
+    /**
+     * Fill a new inventory with the rendered model and open it
+     */
+    private void open(Player player, Inventory inventory, MenuModel model, MenuState state) {
+        MenuSession session = new MenuSession(inventory);
+        session.apply(model);
+        // Opening closes the previous menu, which clears its state, so register afterwards
+        player.openInventory(inventory);
+        openMenus.put(player.getUniqueId(), state);
+        sessions.put(player.getUniqueId(), session);
+    }
+    
+    /**
+     * The session of the quest menu the player is looking at, or null
+     */
+    private MenuSession getOpenSession(Player player) {
+        MenuSession session = sessions.get(player.getUniqueId());
+        if (session == null || player.getOpenInventory().getTopInventory() != session.inventory) {
+            return null;
+        }
+        return session;
+    }
+    
     public MenuState getMenuState(UUID uuid) {
         return openMenus.get(uuid);
     }
     
     public void clearMenuState(UUID uuid) {
         openMenus.remove(uuid);
+        sessions.remove(uuid);
+        dirtyQuests.remove(uuid);
     }
     
     public enum MenuType {
@@ -586,80 +701,58 @@ public class QuestMenuHandler {
      * Applies the navbar from config to the inventory.
      * Main menu version with page/currency context.
      */
-    private void applyNavbar(Inventory inv, Player player, String menuType, 
-                            int page, int totalPages, int startIndex, int questsPerPage,
-                            double coins, int tokens) {
+    private void applyNavbar(MenuModel inv, Player player, String menuType,
+                            MainMenuView view, PlayerQuestData playerData) {
         // Fill row 5 with black glass
         fillRow(inv, 5, Material.BLACK_STAINED_GLASS_PANE);
         
-        // Load navbar config
-        var config = plugin.getConfigManager().getNavbarConfig();
-        if (config == null) {
+        // Compiled navbar config
+        NavbarLayout layout = plugin.getConfigManager().getNavbarLayout();
+        List<NavbarLayout.Item> items = layout != null ? layout.getMenu(menuType) : null;
+        if (items == null) {
             // Fallback to hardcoded if config fails
-            applyHardcodedNavbar(inv, player, page, totalPages, startIndex, questsPerPage, coins, tokens);
-            return;
-        }
-        
-        var menuConfig = config.getConfigurationSection(menuType);
-        if (menuConfig == null) {
-            applyHardcodedNavbar(inv, player, page, totalPages, startIndex, questsPerPage, coins, tokens);
+            applyHardcodedNavbar(inv, player, view, playerData);
             return;
         }
         
-        // Prepare player info for player_head
-        PlayerQuestData pqd = plugin.getPlayerQuestManager().getPlayerData(player);
-        double playerProgress = plugin.getProgressIntegration().getPlayerProgress(player);
+        // Placeholder values, only computed if an item needs them
+        Map<String, String> values = null;
+        MenuContext context = new MenuContext(player, view.page, view.totalPages, false, false,
+            () -> view.coins, () -> view.tokens, () -> view.playerProgress);
         
         // Apply each navbar item
-        for (String key : menuConfig.getKeys(false)) {
-            var itemSection = menuConfig.getConfigurationSection(key);
-            if (itemSection == null) continue;
-            
-            int slot = itemSection.getInt("slot");
+        for (NavbarLayout.Item item : items) {
+            int slot = item.getSlot();
             if (slot < 0 || slot >= 54) continue;
             
             // Check condition
-            String condition = itemSection.getString("condition");
-            if (condition != null && !evaluateCondition(condition, page, totalPages, false, false)) {
+            if (!item.condition.test(context)) {
                 continue;
             }
             
-            // Get material
-            String materialName = itemSection.getString("material", "black_stained_glass_pane");
-            Material material = Material.getMaterial(materialName.toUpperCase());
-            if (material == null) material = Material.BLACK_STAINED_GLASS_PANE;
-            
-            // Get display name with placeholders
-            String displayName = itemSection.getString("display_name", " ");
-            displayName = replacePlaceholders(displayName, player, page, totalPages, startIndex, questsPerPage, coins, tokens);
+            if (item.isStatic && item.material != Material.PLAYER_HEAD) {
+                inv.setItem(slot, getStaticNavbarItem(layout, item));
+                continue;
+            }
             
-            // Get lore with placeholders
-            List<String> lore = itemSection.getStringList("lore");
-            List<String> processedLore = new ArrayList<>();
-            for (String line : lore) {
-                processedLore.add(replacePlaceholders(line, player, page, totalPages, startIndex, questsPerPage, coins, tokens));
+            if (values == null) {
+                values = Map.of(
+                    "page", String.valueOf(view.page + 1),
+                    "total_pages", String.valueOf(view.totalPages),
+                    "prev_page", String.valueOf(view.page),
+                    "next_page", String.valueOf(view.page + 2),
+                    "start", String.valueOf(view.startIndex + 1),
+                    "end", String.valueOf(view.getEndIndex()),
+                    "player_name", player.getName(),
+                    "coins", String.format("%.0f", view.coins),
+                    "tokens", String.format("%,d", view.tokens));
             }
             
-            // Create and set item
-            // Special handling for player_head to set skull owner
-            if (material == Material.PLAYER_HEAD) {
-                ItemStack head = createPlayerHead(player, playerProgress, pqd);
-                // Override display name and lore
-                ItemMeta meta = head.getItemMeta();
-                if (meta != null) {
-                    meta.setDisplayName(ChatColor.translateAlternateColorCodes('§', displayName));
-                    if (!processedLore.isEmpty()) {
-                        meta.setLore(processedLore.stream()
-                            .map(line -> ChatColor.translateAlternateColorCodes('§', line))
-                            .collect(java.util.stream.Collectors.toList()));
-                    }
-                    head.setItemMeta(meta);
-                }
-                inv.setItem(slot, head);
-            } else if (processedLore.isEmpty()) {
-                inv.setItem(slot, createItem(material, displayName));
+            if (item.material == Material.PLAYER_HEAD) {
+                // Special handling for player_head to set skull owner
+                inv.setItem(slot, createNavbarHead(item, values, player, view.playerProgress, playerData));
             } else {
-                inv.setItem(slot, createItem(material, displayName, processedLore.toArray(new String[0])));
+                inv.setItem(slot, createNavbarItem(item, values));
             }
         }
     }
@@ -668,58 +761,40 @@ public class QuestMenuHandler {
      * Applies the navbar from config to the inventory.
      * Detail menu version with quest context.
      */
-    private void applyNavbar(Inventory inv, Player player, String menuType,
+    private void applyNavbar(MenuModel inv, Player player, String menuType,
                             Quest quest, PlayerQuestData playerData, boolean isActive, boolean isCompleted) {
         // Fill row 5 with black glass
         fillRow(inv, 5, Material.BLACK_STAINED_GLASS_PANE);
         
-        // Load navbar config
-        var config = plugin.getConfigManager().getNavbarConfig();
-        if (config == null) {
+        // Compiled navbar config
+        NavbarLayout layout = plugin.getConfigManager().getNavbarLayout();
+        List<NavbarLayout.Item> items = layout != null ? layout.getMenu(menuType) : null;
+        if (items == null) {
             // Fallback to hardcoded if config fails
             applyHardcodedDetailNavbar(inv, quest, playerData, isActive, isCompleted);
             return;
         }
         
-        var menuConfig = config.getConfigurationSection(menuType);
-        if (menuConfig == null) {
-            applyHardcodedDetailNavbar(inv, quest, playerData, isActive, isCompleted);
-            return;
-        }
-        
-        // Prepare player info for player_head
-        double playerProgress = plugin.getProgressIntegration().getPlayerProgress(player);
+        Map<String, String> values = Map.of(
+            "quest_name", quest != null ? quest.getDisplayName() : " ",
+            "is_active", String.valueOf(isActive),
+            "is_completed", String.valueOf(isCompleted));
+        // Balances and progress are only looked up if a condition uses them
+        MenuContext context = new MenuContext(player, 0, 0, isActive, isCompleted,
+            () -> plugin.getEconomyIntegration().getCoins(player),
+            () -> plugin.getEconomyIntegration().getTokens(player),
+            () -> plugin.getProgressIntegration().getPlayerProgress(player));
         
         // Apply each navbar item
-        for (String key : menuConfig.getKeys(false)) {
-            var itemSection = menuConfig.getConfigurationSection(key);
-            if (itemSection == null) continue;
-            
-            int slot = itemSection.getInt("slot");
+        for (NavbarLayout.Item item : items) {
+            int slot = item.getSlot();
             if (slot < 0 || slot >= 54) continue;
             
             // Check condition
-            String condition = itemSection.getString("condition");
-            if (condition != null && !evaluateCondition(condition, 0, 0, isActive, isCompleted)) {
+            if (!item.condition.test(context)) {
                 continue;
             }
             
-            // Get material
-            String materialName = itemSection.getString("material", "black_stained_glass_pane");
-            Material material = Material.getMaterial(materialName.toUpperCase());
-            if (material == null) material = Material.BLACK_STAINED_GLASS_PANE;
-            
-            // Get display name with placeholders
-            String displayName = itemSection.getString("display_name", " ");
-            displayName = replacePlaceholders(displayName, player, quest, isActive, isCompleted);
-            
-            // Get lore with placeholders
-            List<String> lore = itemSection.getStringList("lore");
-            List<String> processedLore = new ArrayList<>();
-            for (String line : lore) {
-                processedLore.add(replacePlaceholders(line, player, quest, isActive, isCompleted));
-            }
-            
             // Special handling for main_action slot (slot 49) - context dependent
             if (slot == 49) {
                 // This will be overridden by the specific action buttons below
@@ -728,23 +803,13 @@ public class QuestMenuHandler {
             }
             
             // Create and set item - special handling for PLAYER_HEAD
-            if (material == Material.PLAYER_HEAD) {
-                ItemStack head = createPlayerHead(player, playerProgress, playerData);
-                ItemMeta meta = head.getItemMeta();
-                if (meta != null) {
-                    meta.setDisplayName(ChatColor.translateAlternateColorCodes('§', displayName));
-                    if (!processedLore.isEmpty()) {
-                        meta.setLore(processedLore.stream()
-                            .map(line -> ChatColor.translateAlternateColorCodes('§', line))
-                            .collect(java.util.stream.Collectors.toList()));
-                    }
-                    head.setItemMeta(meta);
-                }
-                inv.setItem(slot, head);
-            } else if (processedLore.isEmpty()) {
-                inv.setItem(slot, createItem(material, displayName));
+            if (item.material == Material.PLAYER_HEAD) {
+                double playerProgress = plugin.getProgressIntegration().getPlayerProgress(player);
+                inv.setItem(slot, createNavbarHead(item, values, player, playerProgress, playerData));
+            } else if (item.isStatic) {
+                inv.setItem(slot, getStaticNavbarItem(layout, item));
             } else {
-                inv.setItem(slot, createItem(material, displayName, processedLore.toArray(new String[0])));
+                inv.setItem(slot, createNavbarItem(item, values));
             }
         }
         
@@ -766,30 +831,65 @@ public class QuestMenuHandler {
     }
     
     /**
-     * Fallback hardcoded navbar for main menu.
+     * Navbar item without placeholders, built once per compiled layout.
+     * Inventories copy items on setItem, so the same instance is handed out.
      */
-    private void applyHardcodedNavbar(Inventory inv, Player player, 
-                                     int page, int totalPages, int startIndex, int questsPerPage,
-                                     double coins, int tokens) {
-        List<Quest> dailyQuests = plugin.getDailyQuestManager().getDailyQuests(player);
+    private ItemStack getStaticNavbarItem(NavbarLayout layout, NavbarLayout.Item item) {
+        if (layout != staticNavbarLayout) {
+            staticNavbarItems.clear();
+            staticNavbarLayout = layout;
+        }
+        return staticNavbarItems.computeIfAbsent(item, i -> createNavbarItem(i, Map.of()));
+    }
     
+    private ItemStack createNavbarItem(NavbarLayout.Item item, Map<String, String> values) {
+        Material material = item.material != null ? item.material : Material.BLACK_STAINED_GLASS_PANE;
+        String displayName = item.displayName != null ? item.getDisplayName(values) : " ";
+        List<String> lore = item.getLore(values);
+        if (lore.isEmpty()) {
+            return createItem(material, displayName);
+        }
+        return createItem(material, displayName, lore.toArray(new String[0]));
+    }
+    
+    private ItemStack createNavbarHead(NavbarLayout.Item item, Map<String, String> values,
+                                       Player player, double playerProgress, PlayerQuestData playerData) {
+        ItemStack head = createPlayerHead(player, playerProgress, playerData);
+        // Override display name and lore
+        ItemMeta meta = head.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(item.displayName != null ? item.getDisplayName(values) : " ");
+            List<String> lore = item.getLore(values);
+            if (!lore.isEmpty()) {
+                meta.setLore(lore);
+            }
+            head.setItemMeta(meta);
+        }
+        return head;
+    }
+    
+    /**
+     * Fallback hardcoded navbar for main menu.
+     */
+    private void applyHardcodedNavbar(MenuModel inv, Player player, MainMenuView view, PlayerQuestData playerData) {
+        int page = view.page;
+        int totalPages = view.totalPages;
+        
         // Player head (slot 46) - no balance here (balance shown in nugget at slot 45)
-        PlayerQuestData pqd = plugin.getPlayerQuestManager().getPlayerData(player);
-        double playerProgress = plugin.getProgressIntegration().getPlayerProgress(player);
-        ItemStack head = createPlayerHead(player, playerProgress, pqd);
+        ItemStack head = createPlayerHead(player, view.playerProgress, playerData);
         inv.setItem(46, head);
         
 
         // Page info moved to center (slot 49)
         inv.setItem(49, createItem(Material.PAPER,
             plugin.getMessages().get("menu.main.page-info.name", "page", String.valueOf(page + 1), "total", String.valueOf(totalPages)), " ", 
-            plugin.getMessages().get("menu.main.page-info.viewing", "start", String.valueOf(startIndex + 1), "end", String.valueOf(Math.min(startIndex + questsPerPage, dailyQuests.size())))));
+            plugin.getMessages().get("menu.main.page-info.viewing", "start", String.valueOf(view.startIndex + 1), "end", String.valueOf(view.getEndIndex()))));
         
         // Balance nugget (slot 45)
         inv.setItem(45, createItem(Material.GOLD_NUGGET, plugin.getMessages().get("menu.main.balance.name"),
             " ",
-            plugin.getMessages().get("menu.main.balance.coins", "amount", String.format("%.0f", coins)),
-            plugin.getMessages().get("menu.main.balance.tokens", "amount", String.format("%,d", tokens))));
+            plugin.getMessages().get("menu.main.balance.coins", "amount", String.format("%.0f", view.coins)),
+            plugin.getMessages().get("menu.main.balance.tokens", "amount", String.format("%,d", view.tokens))));
         
         // Previous page (slot 48)
         if (page > 0) {
@@ -808,7 +908,7 @@ public class QuestMenuHandler {
     /**
      * Fallback hardcoded navbar for detail menu.
      */
-    private void applyHardcodedDetailNavbar(Inventory inv, Quest quest, 
+    private void applyHardcodedDetailNavbar(MenuModel inv, Quest quest, 
                                            PlayerQuestData playerData, boolean isActive, boolean isCompleted) {
         // Main action button (slot 49)
         if (isActive) {
@@ -832,77 +932,4 @@ public class QuestMenuHandler {
         // Back button moved to slot 53 (replaces close)
         inv.setItem(53, createItem(Material.SPYGLASS, plugin.getMessages().get("menu.detail.actions.back.name"), plugin.getMessages().get("menu.detail.actions.back.lore")));
     }
-    
-    /**
-     * Replace placeholders in strings.
-     */
-    private String replacePlaceholders(String text, Player player, 
-                                      int page, int totalPages, int startIndex, int questsPerPage,
-                                      double coins, int tokens) {
-        if (text == null) return " ";
-        
-        String result = text
-            .replace("{page}", String.valueOf(page + 1))
-            .replace("{total_pages}", String.valueOf(totalPages))
-            .replace("{prev_page}", String.valueOf(page))
-            .replace("{next_page}", String.valueOf(page + 2))
-            .replace("{start}", String.valueOf(startIndex + 1))
-            .replace("{end}", String.valueOf(Math.min(startIndex + questsPerPage, 
-                plugin.getDailyQuestManager().getDailyQuests(player).size())))
-            .replace("{player_name}", player.getName())
-            .replace("{coins}", String.format("%.0f", coins))
-            .replace("{tokens}", String.format("%,d", tokens));
-        
-        return plugin.getConfigManager().colorize(result);
-    }
-    
-    /**
-     * Replace placeholders for detail menu.
-     */
-    private String replacePlaceholders(String text, Player player, Quest quest, 
-                                      boolean isActive, boolean isCompleted) {
-        if (text == null) return " ";
-        
-        String result = text
-            .replace("{quest_name}", quest != null ? quest.getDisplayName() : " ")
-            .replace("{is_active}", String.valueOf(isActive))
-            .replace("{is_completed}", String.valueOf(isCompleted));
-        
-        return plugin.getConfigManager().colorize(result);
-    }
-    
-    /**
-     * Evaluate condition strings like "page > 0" or "is_active".
-     */
-    private boolean evaluateCondition(String condition, int page, int totalPages, 
-                                     boolean isActive, boolean isCompleted) {
-        if (condition == null || condition.trim().isEmpty()) return true;
-        
-        try {
-            // Simple condition parser
-            if (condition.contains(">")) {
-                String[] parts = condition.split(">");
-                if (parts[0].trim().equals("page") && parts[1].trim().equals("0")) {
-                    return page > 0;
-                }
-                if (parts[0].trim().equals("page") && parts[1].trim().contains("total_pages")) {
-                    return page < totalPages - 1;
-                }
-            } else if (condition.contains("<")) {
-                String[] parts = condition.split("<");
-                if (parts[0].trim().equals("page") && parts[1].trim().contains("total_pages")) {
-                    return page < totalPages - 1;
-                }
-            } else if (condition.equals("is_active")) {
-                return isActive;
-            } else if (condition.equals("!is_active")) {
-                return !isActive;
-            }
-        } catch (Exception e) {
-            // If parsing fails, return true (show the item)
-            return true;
-        }
-        
-        return true;
-    }
 }
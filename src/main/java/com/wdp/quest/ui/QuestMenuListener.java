@@ -46,14 +46,7 @@ public class QuestMenuListener implements Listener {
     
     public QuestMenuListener(WDPQuestPlugin plugin) {
         this.plugin = plugin;
-        
-        // Get the menu handler from the command
-        var questCmd = plugin.getCommand("quest");
-        if (questCmd != null && questCmd.getExecutor() instanceof com.wdp.quest.commands.QuestCommand cmd) {
-            this.menuHandler = cmd.getMenuHandler();
-        } else {
-            this.menuHandler = new QuestMenuHandler(plugin);
-        }
+        this.menuHandler = plugin.getQuestMenuHandler();
     }
     
     @EventHandler(priority = EventPriority.HIGH)
@@ -177,10 +170,10 @@ public class QuestMenuListener implements Listener {
                 // Track/Untrack (Ender Eye/Pearl) - when active
                 if ((type == Material.ENDER_EYE || type == Material.ENDER_PEARL) && isActive) {
                     if (playerData.isTracking(questId)) {
-                        playerData.setTrackedQuestId(null);
+                        plugin.getPlayerQuestManager().setTrackedQuest(player, null);
                         player.sendMessage(plugin.getMessages().get("commands.stopped-tracking"));
                     } else {
-                        playerData.setTrackedQuestId(questId);
+                        plugin.getPlayerQuestManager().setTrackedQuest(player, questId);
                         player.sendMessage(plugin.getMessages().get("commands.now-tracking", "quest", quest.getDisplayName()));
                     }
                     menuHandler.openQuestDetail(player, quest, state.page, true);
@@ -0,0 +1,294 @@
+package com.wdp.quest.ui.hud;
+
+import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.data.PlayerQuestData;
+import com.wdp.quest.data.ProgressChangeListener;
+import com.wdp.quest.quest.Quest;
+import com.wdp.quest.quest.QuestObjective;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows the tracked quest in the action bar or a boss bar instead of chat.
+ *
+ * Progress changes only mark a player dirty. One task renders dirty players
+ * each tick, at most once per render interval per player, so a burst of
+ * changes (e.g. vein-mining 64 ores) ends up as a single update.
+ */
+public class ProgressHudManager implements ProgressChangeListener {
+
+    /**
+     * Where a player sees progress updates
+     */
+    public enum HudMode {
+        CHAT("chat"),
+        ACTION_BAR("actionbar"),
+        BOSS_BAR("bossbar");
+
+        private final String key;
+
+        HudMode(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static HudMode fromKey(String key) {
+            for (HudMode mode : values()) {
+                if (mode.key.equalsIgnoreCase(key) || mode.name().equalsIgnoreCase(key)) {
+                    return mode;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final WDPQuestPlugin plugin;
+
+    // Player preferences (UUID -> mode), kept across sessions
+    private final Map<UUID, HudMode> playerModes = new ConcurrentHashMap<>();
+    // Render state per online player
+    private final Map<UUID, HudState> states = new ConcurrentHashMap<>();
+    // Players waiting for a render
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    private BukkitTask renderTask;
+    private long tick;
+
+    // Configuration
+    private boolean enabled = true;
+    private HudMode defaultMode = HudMode.CHAT;
+    private int renderInterval = 10; // Ticks between renders of one player
+    private int bossBarHideTicks = 200; // Hide the boss bar after this much inactivity (0 = never)
+    private BarColor barColor = BarColor.YELLOW;
+    private BarStyle barStyle = BarStyle.SEGMENTED_10;
+
+    public ProgressHudManager(WDPQuestPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        enabled = plugin.getConfig().getBoolean("hud.enabled", true);
+        HudMode mode = HudMode.fromKey(plugin.getConfig().getString("hud.default-mode", "chat"));
+        defaultMode = mode != null ? mode : HudMode.CHAT;
+        renderInterval = Math.max(1, plugin.getConfig().getInt("hud.render-interval-ticks", 10));
+        bossBarHideTicks = Math.max(0, plugin.getConfig().getInt("hud.boss-bar.hide-after-seconds", 10) * 20);
+        try {
+            barColor = BarColor.valueOf(plugin.getConfig().getString("hud.boss-bar.color", "YELLOW").toUpperCase());
+            barStyle = BarStyle.valueOf(plugin.getConfig().getString("hud.boss-bar.style", "SEGMENTED_10").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid hud.boss-bar color or style, using defaults");
+            barColor = BarColor.YELLOW;
+            barStyle = BarStyle.SEGMENTED_10;
+        }
+    }
+
+    /**
+     * Start the render task
+     */
+    public void start() {
+        plugin.getPlayerQuestManager().addProgressListener(this);
+        renderTask = Bukkit.getScheduler().runTaskTimer(plugin, this::renderDirty, 1L, 1L);
+    }
+
+    /**
+     * Stop the render task and remove all boss bars
+     */
+    public void shutdown() {
+        plugin.getPlayerQuestManager().removeProgressListener(this);
+        if (renderTask != null) {
+            renderTask.cancel();
+            renderTask = null;
+        }
+        for (HudState state : states.values()) {
+            state.removeBar();
+        }
+        states.clear();
+        dirty.clear();
+    }
+
+    /**
+     * Reload configuration. Boss bars are rebuilt with the new style on the next render.
+     */
+    public void reload() {
+        loadConfig();
+        for (HudState state : states.values()) {
+            state.removeBar();
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            dirty.add(player.getUniqueId());
+        }
+    }
+
+    @Override
+    public void onProgressChange(Player player, String questId) {
+        if (getMode(player.getUniqueId()) != HudMode.CHAT) {
+            dirty.add(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Render every dirty player whose render interval has passed
+     */
+    private void renderDirty() {
+        tick++;
+
+        if (!dirty.isEmpty()) {
+            Iterator<UUID> it = dirty.iterator();
+            while (it.hasNext()) {
+                UUID uuid = it.next();
+                HudState state = states.computeIfAbsent(uuid, id -> new HudState());
+                if (state.lastRender != 0 && tick - state.lastRender < renderInterval) {
+                    continue; // Stays dirty, rendered once the interval passed
+                }
+                it.remove();
+
+                Player player = Bukkit.getPlayer(uuid);
+                if (player == null) {
+                    states.remove(uuid);
+                    state.removeBar();
+                    continue;
+                }
+                state.lastRender = tick;
+                render(player, state);
+            }
+        }
+
+        // Hide idle boss bars, checked once a second
+        if (bossBarHideTicks > 0 && tick % 20 == 0) {
+            for (HudState state : states.values()) {
+                if (state.bar != null && state.bar.isVisible() && tick - state.lastRender >= bossBarHideTicks) {
+                    state.bar.setVisible(false);
+                }
+            }
+        }
+    }
+
+    private void render(Player player, HudState state) {
+        HudMode mode = getMode(player.getUniqueId());
+
+        PlayerQuestData data = plugin.getPlayerQuestManager().getPlayerData(player);
+        String trackedId = data.getTrackedQuestId();
+        Quest quest = trackedId != null ? plugin.getQuestManager().getQuest(trackedId) : null;
+        PlayerQuestData.QuestProgress progress = quest != null ? data.getQuestProgress(quest.getId()) : null;
+
+        if (progress == null || progress.getStatus() != PlayerQuestData.QuestStatus.ACTIVE || mode == HudMode.CHAT) {
+            // Nothing tracked anymore, or HUD switched off
+            if (state.bar != null) {
+                state.bar.setVisible(false);
+            }
+            return;
+        }
+
+        // Show the first unfinished objective
+        QuestObjective objective = null;
+        Map<String, Integer> targets = new LinkedHashMap<>();
+        for (QuestObjective obj : quest.getObjectives()) {
+            targets.put(obj.getId(), obj.getTargetAmount());
+            if (objective == null && !progress.isObjectiveComplete(obj.getId())) {
+                objective = obj;
+            }
+        }
+        if (objective == null) {
+            return; // Completing; the completion message takes over
+        }
+        double percent = progress.getActualCompletionPercentage(targets);
+
+        String[] placeholders = {
+            "quest", quest.getDisplayName(),
+            "objective", objective.getFormattedDescription(),
+            "current", String.valueOf(progress.getObjectiveAmount(objective.getId())),
+            "target", String.valueOf(objective.getTargetAmount()),
+            "percent", String.format("%.0f", percent)
+        };
+
+        if (mode == HudMode.ACTION_BAR) {
+            if (state.bar != null) {
+                state.bar.setVisible(false);
+            }
+            String text = plugin.getMessages().get("hud.action-bar", placeholders);
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(text));
+            return;
+        }
+
+        String title = plugin.getMessages().get("hud.boss-bar", placeholders);
+        if (state.bar == null) {
+            state.bar = Bukkit.createBossBar(title, barColor, barStyle);
+            state.bar.addPlayer(player);
+        } else if (!title.equals(state.bar.getTitle())) {
+            state.bar.setTitle(title);
+        }
+        state.bar.setProgress(Math.max(0, Math.min(1, percent / 100.0)));
+        state.bar.setVisible(true);
+    }
+
+    /**
+     * Whether the HUD replaces chat progress messages for this player
+     */
+    public boolean isHudEnabled(UUID uuid) {
+        return getMode(uuid) != HudMode.CHAT;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public HudMode getMode(UUID uuid) {
+        if (!enabled) return HudMode.CHAT;
+        return playerModes.getOrDefault(uuid, defaultMode);
+    }
+
+    /**
+     * Set a player's HUD mode and show it right away
+     */
+    public void setMode(Player player, HudMode mode) {
+        playerModes.put(player.getUniqueId(), mode);
+        HudState state = states.get(player.getUniqueId());
+        if (state != null && mode != HudMode.BOSS_BAR) {
+            state.removeBar();
+        }
+        dirty.add(player.getUniqueId());
+    }
+
+    /**
+     * Clear render state for a player (on logout)
+     */
+    public void unloadPlayer(UUID uuid) {
+        dirty.remove(uuid);
+        HudState state = states.remove(uuid);
+        if (state != null) {
+            state.removeBar();
+        }
+    }
+
+    /**
+     * Render state of one player
+     */
+    private static final class HudState {
+        long lastRender;
+        BossBar bar;
+
+        void removeBar() {
+            if (bar != null) {
+                bar.removeAll();
+                bar = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.wdp.quest.ui.hud;
+
+import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.data.PlayerQuestData;
+import com.wdp.quest.data.ProgressChangeListener;
+import com.wdp.quest.quest.Quest;
+import com.wdp.quest.quest.QuestObjective;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scoreboard sidebar listing a player's active daily quests.
+ *
+ * Each line is a team whose prefix holds the text, so a changed line is one
+ * team update and unchanged lines send nothing. Players are rendered from a
+ * dirty set by one task, a limited number per tick. Scoreboards only exist
+ * for players who turned the sidebar on.
+ */
+public class SidebarManager implements ProgressChangeListener {
+
+    private static final int MAX_LINES = 15;
+    private static final String OBJECTIVE_NAME = "wdpquest";
+
+    private final WDPQuestPlugin plugin;
+
+    // Player preferences (UUID -> enabled), kept across sessions
+    private final Map<UUID, Boolean> playerPreferences = new ConcurrentHashMap<>();
+    // Sidebars of online players who enabled it
+    private final Map<UUID, Sidebar> sidebars = new ConcurrentHashMap<>();
+    // Players waiting for a render
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    private BukkitTask renderTask;
+    private long tick;
+
+    // Configuration
+    private boolean enabled = true;
+    private boolean defaultEnabled = false;
+    private int maxUpdatesPerTick = 20;
+    private int refreshTicks = 400; // Re-render for the reset countdown and new daily quests
+
+    public SidebarManager(WDPQuestPlugin plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        enabled = plugin.getConfig().getBoolean("sidebar.enabled", true);
+        defaultEnabled = plugin.getConfig().getBoolean("sidebar.default-enabled", false);
+        maxUpdatesPerTick = Math.max(1, plugin.getConfig().getInt("sidebar.max-updates-per-tick", 20));
+        refreshTicks = Math.max(20, plugin.getConfig().getInt("sidebar.refresh-seconds", 20) * 20);
+    }
+
+    /**
+     * Start the render task and show the sidebar to online players who have it enabled
+     */
+    public void start() {
+        plugin.getPlayerQuestManager().addProgressListener(this);
+        renderTask = Bukkit.getScheduler().runTaskTimer(plugin, this::renderDirty, 1L, 1L);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPlayer(player);
+        }
+    }
+
+    /**
+     * Stop the render task and give players back the scoreboard they had before
+     */
+    public void shutdown() {
+        plugin.getPlayerQuestManager().removeProgressListener(this);
+        if (renderTask != null) {
+            renderTask.cancel();
+            renderTask = null;
+        }
+        for (UUID uuid : sidebars.keySet()) {
+            hide(uuid);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Reload configuration and redraw every sidebar
+     */
+    public void reload() {
+        loadConfig();
+        for (UUID uuid : new ArrayList<>(sidebars.keySet())) {
+            hide(uuid);
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPlayer(player);
+        }
+    }
+
+    /**
+     * Show the sidebar on join if the player has it enabled
+     */
+    public void loadPlayer(Player player) {
+        if (isEnabled(player.getUniqueId())) {
+            dirty.add(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Drop the player's sidebar (on logout)
+     */
+    public void unloadPlayer(UUID uuid) {
+        dirty.remove(uuid);
+        sidebars.remove(uuid);
+    }
+
+    @Override
+    public void onProgressChange(Player player, String questId) {
+        if (sidebars.containsKey(player.getUniqueId())) {
+            dirty.add(player.getUniqueId());
+        }
+    }
+
+    private void renderDirty() {
+        tick++;
+        if (tick % refreshTicks == 0) {
+            dirty.addAll(sidebars.keySet());
+        }
+        if (dirty.isEmpty()) return;
+
+        int budget = maxUpdatesPerTick;
+        Iterator<UUID> it = dirty.iterator();
+        while (it.hasNext() && budget > 0) {
+            UUID uuid = it.next();
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                it.remove();
+                sidebars.remove(uuid);
+                continue;
+            }
+            if (!plugin.getPlayerQuestManager().isLoaded(uuid)) {
+                continue; // Quest data still loading after join
+            }
+            it.remove();
+            if (!isEnabled(uuid)) continue;
+
+            Sidebar sidebar = sidebars.get(uuid);
+            if (sidebar == null) {
+                sidebar = new Sidebar(player);
+                sidebars.put(uuid, sidebar);
+            }
+            sidebar.update(plugin.getMessages().get("sidebar.title"), buildLines(player));
+            budget--;
+        }
+    }
+
+    /**
+     * Build the sidebar lines of a player
+     */
+    private List<String> buildLines(Player player) {
+        PlayerQuestData data = plugin.getPlayerQuestManager().getPlayerData(player);
+        List<String> lines = new ArrayList<>(MAX_LINES);
+
+        for (Quest quest : plugin.getDailyQuestManager().getDailyQuests(player)) {
+            PlayerQuestData.QuestProgress progress = data.getQuestProgress(quest.getId());
+            if (progress == null || progress.getStatus() != PlayerQuestData.QuestStatus.ACTIVE) continue;
+            if (lines.size() + 2 > MAX_LINES - 2) break; // Quest line plus one objective, above the footer
+
+            String key = data.isTracking(quest.getId()) ? "sidebar.quest-tracked" : "sidebar.quest";
+            lines.add(plugin.getMessages().get(key, "quest", quest.getDisplayName()));
+            for (QuestObjective objective : quest.getObjectives()) {
+                if (lines.size() >= MAX_LINES - 2) break;
+                boolean done = progress.isObjectiveComplete(objective.getId());
+                lines.add(plugin.getMessages().get(done ? "sidebar.objective-done" : "sidebar.objective",
+                    "objective", objective.getFormattedDescription(),
+                    "current", String.valueOf(progress.getObjectiveAmount(objective.getId())),
+                    "target", String.valueOf(objective.getTargetAmount())));
+            }
+        }
+
+        if (lines.isEmpty()) {
+            lines.add(plugin.getMessages().get("sidebar.empty"));
+        }
+        lines.add("");
+        lines.add(plugin.getMessages().get("sidebar.footer",
+            "time", plugin.getDailyQuestManager().getTimeUntilResetFormatted(player)));
+        return lines;
+    }
+
+    /**
+     * Check if the sidebar is enabled for this player
+     */
+    public boolean isEnabled(UUID uuid) {
+        return enabled && playerPreferences.getOrDefault(uuid, defaultEnabled);
+    }
+
+    /**
+     * Whether the sidebar is enabled in the config
+     */
+    public boolean isAvailable() {
+        return enabled;
+    }
+
+    /**
+     * Toggle the sidebar for a player
+     * @return true if it is now shown
+     */
+    public boolean toggle(Player player) {
+        UUID uuid = player.getUniqueId();
+        boolean now = !isEnabled(uuid);
+        playerPreferences.put(uuid, now);
+        if (now) {
+            dirty.add(uuid);
+        } else {
+            hide(uuid);
+        }
+        return now;
+    }
+
+    private void hide(UUID uuid) {
+        dirty.remove(uuid);
+        Sidebar sidebar = sidebars.remove(uuid);
+        Player player = Bukkit.getPlayer(uuid);
+        // Leave the player alone if another plugin has replaced our board since
+        if (sidebar != null && player != null && player.getScoreboard() == sidebar.board) {
+            player.setScoreboard(sidebar.previous != null
+                ? sidebar.previous : Bukkit.getScoreboardManager().getMainScoreboard());
+        }
+    }
+
+    /**
+     * One player's scoreboard and the text last sent for each line
+     */
+    private static final class Sidebar {
+        final Scoreboard board;
+        // The board the player had before, e.g. another plugin's, restored on hide
+        final Scoreboard previous;
+        final Objective objective;
+        final Team[] teams = new Team[MAX_LINES];
+        final String[] lines = new String[MAX_LINES];
+        int lineCount;
+        String title;
+
+        Sidebar(Player player) {
+            previous = player.getScoreboard();
+            board = Bukkit.getScoreboardManager().getNewScoreboard();
+            objective = board.registerNewObjective(OBJECTIVE_NAME, Criteria.DUMMY, "");
+            objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+            for (int i = 0; i < MAX_LINES; i++) {
+                teams[i] = board.registerNewTeam("line" + i);
+                teams[i].addEntry(entry(i));
+            }
+            player.setScoreboard(board);
+        }
+
+        /**
+         * Send only the title and lines that differ from what the client has
+         */
+        void update(String newTitle, List<String> newLines) {
+            if (!newTitle.equals(title)) {
+                objective.setDisplayName(newTitle);
+                title = newTitle;
+            }
+
+            int count = Math.min(newLines.size(), MAX_LINES);
+            for (int i = 0; i < count; i++) {
+                String line = newLines.get(i);
+                if (!line.equals(lines[i])) {
+                    teams[i].setPrefix(line);
+                    lines[i] = line;
+                }
+                if (i >= lineCount) {
+                    objective.getScore(entry(i)).setScore(MAX_LINES - i);
+                }
+            }
+            for (int i = count; i < lineCount; i++) {
+                board.resetScores(entry(i));
+            }
+            lineCount = count;
+        }
+
+        // Unique invisible entry per line: a color code followed by a reset
+        private static String entry(int line) {
+            return "§" + Integer.toHexString(line) + "§r";
+        }
+    }
+}
@@ -1,21 +1,14 @@
 package com.wdp.quest.ui.menu;
 
 import com.wdp.quest.WDPQuestPlugin;
-import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import com.wdp.quest.config.NavbarLayout;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.io.File;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,50 +29,19 @@ public class UnifiedMenuManager {
 
     private final WDPQuestPlugin plugin;
     private final GlobalItems globalItems;
-    private final Map<String, FileConfiguration> navbarConfigs;
+    // Items without placeholders, built once per compiled layout
+    private final Map<NavbarLayout.Item, ItemStack> staticItems = new IdentityHashMap<>();
+    private NavbarLayout staticLayout;
+    private ItemStack glassPane;
 
     public UnifiedMenuManager(WDPQuestPlugin plugin) {
         this.plugin = plugin;
         this.globalItems = new GlobalItems(plugin);
-        this.navbarConfigs = new HashMap<>();
-        loadNavbarConfig();
-    }
-
-    /**
-     * Load navbar configuration from YAML file
-     */
-    private void loadNavbarConfig() {
-        try {
-            // Try to load from plugin folder first
-            File configFile = new File(plugin.getDataFolder(), "navbar.yml");
-            if (!configFile.exists()) {
-                // Create default navbar.yml
-                plugin.saveResource("navbar.yml", false);
-            }
-            
-            // Load the config
-            FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-            
-            // If file is empty, load defaults from resources
-            if (config.getKeys(false).isEmpty()) {
-                InputStream defaultStream = plugin.getResource("navbar.yml");
-                if (defaultStream != null) {
-                    config = YamlConfiguration.loadConfiguration(new InputStreamReader(defaultStream, StandardCharsets.UTF_8));
-                }
-            }
-            
-            navbarConfigs.put("default", config);
-            plugin.getLogger().info("Loaded navbar configuration");
-            
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to load navbar.yml: " + e.getMessage());
-            e.printStackTrace();
-        }
     }
 
     /**
      * Apply navbar to an inventory
-     * This reads from navbar.yml and creates the bottom row (slots 45-53)
+     * This uses the compiled navbar.yml and creates the bottom row (slots 45-53)
      * 
      * @param inv The inventory to apply navbar to
      * @param player The player viewing the menu
@@ -87,40 +49,34 @@ public class UnifiedMenuManager {
      * @param context Context data for placeholders (page, total_pages, previous_menu, coins, tokens, etc.)
      */
     public void applyNavbar(Inventory inv, Player player, String menuType, Map<String, Object> context) {
-        FileConfiguration config = navbarConfigs.get("default");
-        if (config == null) {
+        NavbarLayout layout = plugin.getConfigManager().getNavbarLayout();
+        List<NavbarLayout.Item> items = layout != null ? layout.getMenu("navbar") : null;
+        if (items == null) {
             createFallbackNavbar(inv, player, menuType, context);
             return;
         }
 
         // Check for exceptions first
-        if (isExceptionMenu(config, menuType)) {
-            applyExceptionNavbar(inv, config, menuType, context);
-            return;
-        }
-
-        ConfigurationSection navbarSection = config.getConfigurationSection("navbar");
-        if (navbarSection == null) {
-            createFallbackNavbar(inv, player, menuType, context);
+        String exception = layout.getException(menuType);
+        if (exception != null) {
+            applyExceptionNavbar(inv, layout, items, exception, context);
             return;
         }
 
         // First, fill all navbar slots with glass panes as default
-        for (int i = 45; i <= 53; i++) {
-            inv.setItem(i, globalItems.createGlassPane());
-        }
+        fillGlass(inv);
 
-        // Process each navbar item
-        for (String itemName : navbarSection.getKeys(false)) {
-            ConfigurationSection itemSection = navbarSection.getConfigurationSection(itemName);
-            if (itemSection == null) continue;
+        Map<String, Object> values = placeholderValues(player, context);
+        boolean hasPages = context != null && context.containsKey("page") && context.containsKey("total_pages");
+        boolean hasPrevious = context != null && context.containsKey("previous_menu");
 
+        // Process each navbar item
+        for (NavbarLayout.Item item : items) {
             // Handle glass_fill with multiple slots
-            if ("glass_fill".equals(itemName)) {
-                List<Integer> slots = itemSection.getIntegerList("slots");
-                ItemStack glassItem = createNavbarItemFromSection(itemSection, player, context);
+            if ("glass_fill".equals(item.key)) {
+                ItemStack glassItem = createNavbarItem(layout, item, values);
                 if (glassItem != null) {
-                    for (int slot : slots) {
+                    for (int slot : item.slots) {
                         if (slot >= 45 && slot <= 53) {
                             inv.setItem(slot, glassItem);
                         }
@@ -129,198 +85,140 @@ public class UnifiedMenuManager {
                 continue;
             }
 
-            int slot = itemSection.getInt("slot", -1);
+            int slot = item.getSlot();
             if (slot < 45 || slot > 53) continue;
 
-            // Handle back button - only show if previous_menu exists
-            if ("back".equals(itemName)) {
-                if (context == null || !context.containsKey("previous_menu")) {
-                    continue; // Skip back button, close will be shown instead
-                }
-                inv.setItem(slot, createNavbarItemFromSection(itemSection, player, context));
-                continue;
-            }
-
-            // Handle close button - only show if NO previous_menu
-            if ("close".equals(itemName)) {
-                if (context != null && context.containsKey("previous_menu")) {
-                    continue; // Skip close button, back will be shown instead
-                }
-                inv.setItem(slot, createNavbarItemFromSection(itemSection, player, context));
-                continue;
-            }
-
-            // Handle balance display
-            if ("balance".equals(itemName)) {
-                inv.setItem(slot, createNavbarItemFromSection(itemSection, player, context));
-                continue;
-            }
-
-            // Handle pagination buttons
-            if ("previous_page".equals(itemName)) {
-                if (context == null || !context.containsKey("page") || !context.containsKey("total_pages")) {
-                    continue;
-                }
-                int page = getContextInt(context, "page", 1);
-                if (page <= 1) {
-                    continue; // Already on first page
-                }
-                inv.setItem(slot, createNavbarItemFromSection(itemSection, player, context));
-                continue;
-            }
-
-            if ("next_page".equals(itemName)) {
-                if (context == null || !context.containsKey("page") || !context.containsKey("total_pages")) {
-                    continue;
-                }
-                int page = getContextInt(context, "page", 1);
-                int totalPages = getContextInt(context, "total_pages", 1);
-                if (page >= totalPages) {
-                    continue; // Already on last page
-                }
-                inv.setItem(slot, createNavbarItemFromSection(itemSection, player, context));
-                continue;
-            }
-
-            if ("page_info".equals(itemName)) {
-                if (context == null || !context.containsKey("page") || !context.containsKey("total_pages")) {
-                    continue;
-                }
-                inv.setItem(slot, createNavbarItemFromSection(itemSection, player, context));
-                continue;
-            }
-
-            // Default: create the item
-            ItemStack item = createNavbarItemFromSection(itemSection, player, context);
-            if (item != null) {
-                inv.setItem(slot, item);
-            }
-        }
-    }
-
-    /**
-     * Check if this menu type is in the exceptions list
-     */
-    private boolean isExceptionMenu(FileConfiguration config, String menuType) {
-        ConfigurationSection exceptions = config.getConfigurationSection("exceptions");
-        if (exceptions == null) return false;
-
-        for (String exceptionType : exceptions.getKeys(false)) {
-            List<String> menuList = exceptions.getStringList(exceptionType);
-            if (menuList.contains(menuType)) {
-                return true;
+            boolean show = switch (item.key) {
+                // Back button only if previous_menu exists, close button otherwise
+                case "back" -> hasPrevious;
+                case "close" -> !hasPrevious;
+                // Pagination buttons
+                case "previous_page" -> hasPages && getContextInt(context, "page", 1) > 1;
+                case "next_page" -> hasPages && getContextInt(context, "page", 1) < getContextInt(context, "total_pages", 1);
+                case "page_info" -> hasPages;
+                default -> true;
+            };
+            if (!show) continue;
+
+            ItemStack created = createNavbarItem(layout, item, values);
+            if (created != null) {
+                inv.setItem(slot, created);
             }
         }
-        return false;
     }
 
     /**
      * Apply navbar for exception menus (e.g., skill selection - only back button)
      */
-    private void applyExceptionNavbar(Inventory inv, FileConfiguration config, String menuType, Map<String, Object> context) {
+    private void applyExceptionNavbar(Inventory inv, NavbarLayout layout, List<NavbarLayout.Item> items,
+                                      String exceptionType, Map<String, Object> context) {
         // Fill with glass first
-        for (int i = 45; i <= 53; i++) {
-            inv.setItem(i, globalItems.createGlassPane());
-        }
+        fillGlass(inv);
 
-        ConfigurationSection exceptions = config.getConfigurationSection("exceptions");
-        if (exceptions == null) return;
-
-        // Determine which exception type applies
-        for (String exceptionType : exceptions.getKeys(false)) {
-            List<String> menuList = exceptions.getStringList(exceptionType);
-            if (!menuList.contains(menuType)) continue;
-
-            if ("skill_selection".equals(exceptionType)) {
-                // Only show back button at slot 53
-                ConfigurationSection navbarSection = config.getConfigurationSection("navbar.back");
-                if (navbarSection != null) {
-                    inv.setItem(53, createNavbarItemFromSection(navbarSection, null, context));
-                } else {
-                    inv.setItem(53, globalItems.createBackItem("previous menu"));
-                }
-            } else if ("no_balance".equals(exceptionType)) {
-                // Hide balance, show everything else normally
-                // Re-apply navbar but skip balance
-                applyNavbarWithoutBalance(inv, config, menuType, context);
+        if ("skill_selection".equals(exceptionType)) {
+            // Only show back button at slot 53
+            NavbarLayout.Item back = null;
+            for (NavbarLayout.Item item : items) {
+                if ("back".equals(item.key)) back = item;
             }
-            break;
+            ItemStack backItem = back != null ? createNavbarItem(layout, back, placeholderValues(null, context)) : null;
+            inv.setItem(53, backItem != null ? backItem : globalItems.createBackItem("previous menu"));
+        } else if ("no_balance".equals(exceptionType)) {
+            // Hide balance, show everything else normally
+            applyNavbarWithoutBalance(inv, layout, items, context);
         }
     }
 
     /**
      * Apply navbar without balance display
      */
-    private void applyNavbarWithoutBalance(Inventory inv, FileConfiguration config, String menuType, Map<String, Object> context) {
-        ConfigurationSection navbarSection = config.getConfigurationSection("navbar");
-        if (navbarSection == null) return;
-
-        for (String itemName : navbarSection.getKeys(false)) {
-            if ("balance".equals(itemName)) continue; // Skip balance
-
-            ConfigurationSection itemSection = navbarSection.getConfigurationSection(itemName);
-            if (itemSection == null) continue;
-
-            if ("glass_fill".equals(itemName)) {
-                List<Integer> slots = itemSection.getIntegerList("slots");
-                // Add slot 45 to glass fill since balance is hidden
-                if (!slots.contains(45)) {
-                    slots = new ArrayList<>(slots);
-                    slots.add(45);
-                }
-                ItemStack glassItem = createNavbarItemFromSection(itemSection, null, context);
+    private void applyNavbarWithoutBalance(Inventory inv, NavbarLayout layout, List<NavbarLayout.Item> items,
+                                           Map<String, Object> context) {
+        Map<String, Object> values = placeholderValues(null, context);
+
+        for (NavbarLayout.Item item : items) {
+            if ("balance".equals(item.key)) continue; // Skip balance
+
+            if ("glass_fill".equals(item.key)) {
+                ItemStack glassItem = createNavbarItem(layout, item, values);
                 if (glassItem != null) {
-                    for (int slot : slots) {
+                    for (int slot : item.slots) {
                         if (slot >= 45 && slot <= 53) {
                             inv.setItem(slot, glassItem);
                         }
                     }
+                    // Slot 45 is glass too since balance is hidden
+                    inv.setItem(45, glassItem);
                 }
                 continue;
             }
 
-            int slot = itemSection.getInt("slot", -1);
+            int slot = item.getSlot();
             if (slot < 45 || slot > 53) continue;
 
-            ItemStack item = createNavbarItemFromSection(itemSection, null, context);
-            if (item != null) {
-                inv.setItem(slot, item);
+            ItemStack created = createNavbarItem(layout, item, values);
+            if (created != null) {
+                inv.setItem(slot, created);
             }
         }
     }
 
     /**
-     * Create a navbar item from a configuration section
+     * Create a navbar item from its compiled template. Items without
+     * placeholders are built once and shared; inventories copy on setItem.
      */
-    private ItemStack createNavbarItemFromSection(ConfigurationSection section, Player player, Map<String, Object> context) {
-        String materialStr = section.getString("material");
-        if (materialStr == null) return null;
+    private ItemStack createNavbarItem(NavbarLayout layout, NavbarLayout.Item item, Map<String, Object> values) {
+        if (item.material == null) return null;
 
-        Material material = Material.getMaterial(materialStr.toUpperCase());
-        if (material == null) return null;
+        if (item.isStatic) {
+            if (layout != staticLayout) {
+                staticItems.clear();
+                staticLayout = layout;
+            }
+            return staticItems.computeIfAbsent(item, i -> buildItem(i, Map.of()));
+        }
+        return buildItem(item, values);
+    }
 
-        ItemStack item = new ItemStack(material);
+    private ItemStack buildItem(NavbarLayout.Item template, Map<String, ?> values) {
+        ItemStack item = new ItemStack(template.material);
         ItemMeta meta = item.getItemMeta();
         if (meta == null) return item;
 
-        String displayName = section.getString("display_name");
+        String displayName = template.getDisplayName(values);
         if (displayName != null) {
-            meta.setDisplayName(replacePlaceholders(displayName, player, context));
+            meta.setDisplayName(displayName);
         }
 
-        List<String> lore = section.getStringList("lore");
-        if (!lore.isEmpty()) {
-            List<String> processedLore = new ArrayList<>();
-            for (String line : lore) {
-                processedLore.add(replacePlaceholders(line, player, context));
-            }
-            meta.setLore(processedLore);
+        if (!template.lore.isEmpty()) {
+            meta.setLore(template.getLore(values));
         }
 
         item.setItemMeta(meta);
         return item;
     }
 
+    /**
+     * Placeholder values: player name plus every context entry
+     */
+    private Map<String, Object> placeholderValues(Player player, Map<String, Object> context) {
+        Map<String, Object> values = context != null ? new HashMap<>(context) : new HashMap<>();
+        if (player != null) {
+            values.put("player", player.getName());
+            values.put("player_name", player.getName());
+        }
+        return values;
+    }
+
+    private void fillGlass(Inventory inv) {
+        if (glassPane == null) {
+            glassPane = globalItems.createGlassPane();
+        }
+        for (int i = 45; i <= 53; i++) {
+            inv.setItem(i, glassPane);
+        }
+    }
+
     /**
      * Get integer from context with default value
      */
@@ -333,40 +231,12 @@ public class UnifiedMenuManager {
         return defaultValue;
     }
 
-    /**
-     * Replace placeholders in display names and lore
-     */
-    private String replacePlaceholders(String text, Player player, Map<String, Object> context) {
-        if (text == null) return "";
-        
-        String result = text;
-        
-        // Replace player name
-        if (player != null) {
-            result = result.replace("{player}", player.getName());
-            result = result.replace("{player_name}", player.getName());
-        }
-        
-        // Replace context values
-        if (context != null) {
-            for (Map.Entry<String, Object> entry : context.entrySet()) {
-                String placeholder = "{" + entry.getKey() + "}";
-                String value = entry.getValue() != null ? entry.getValue().toString() : "";
-                result = result.replace(placeholder, value);
-            }
-        }
-        
-        return result;
-    }
-
     /**
      * Create a fallback navbar when YAML is not available
      */
     private void createFallbackNavbar(Inventory inv, Player player, String menuType, Map<String, Object> context) {
         // Fill row 5 with glass
-        for (int i = 45; i <= 53; i++) {
-            inv.setItem(i, globalItems.createGlassPane());
-        }
+        fillGlass(inv);
         
         // Balance at slot 45
         double coins = context != null ? getContextDouble(context, "coins", 0) : 0;
@@ -420,11 +290,12 @@ public class UnifiedMenuManager {
     }
 
     /**
-     * Reload navbar configuration
+     * Drop built items; navbar.yml itself is recompiled by the config reload
      */
     public void reload() {
-        navbarConfigs.clear();
-        loadNavbarConfig();
+        staticItems.clear();
+        staticLayout = null;
+        glassPane = null;
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.wdp.quest.util;
 
 import com.wdp.quest.WDPQuestPlugin;
+import com.wdp.quest.quest.Quest;
+import com.wdp.quest.quest.QuestObjective;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -13,30 +15,28 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Shows at most 8 milestones for any objective
  * - Minimum time between messages (configurable)
  * - Time-based updates (shows update after inactivity)
- * - Spam detection with helpful message
+ * - Spam detection with helpful message (token bucket with burst and refill)
  * - Per-player toggle for updates
+ * 
+ * All timing state of a player lives in one object with arrays indexed by
+ * quest and objective index, so checks allocate nothing and clearing a
+ * player is a single map removal.
  */
 public class SmartProgressTracker {
     
     private final WDPQuestPlugin plugin;
     
-    // Player preferences (UUID -> enabled)
+    // Player preferences (UUID -> enabled), kept across sessions
     private final Map<UUID, Boolean> playerPreferences = new ConcurrentHashMap<>();
     
-    // Track last progress time per player per quest+objective
-    private final Map<String, Long> lastProgressTime = new ConcurrentHashMap<>();
-    
-    // Track last message time per player per quest
-    private final Map<String, Long> lastMessageTime = new ConcurrentHashMap<>();
-    
-    // Track message count in time window per player
-    private final Map<UUID, List<Long>> messageHistory = new ConcurrentHashMap<>();
+    // Timing state per online player
+    private final Map<UUID, PlayerState> states = new ConcurrentHashMap<>();
     
     // Configuration
     private int minTimeBetweenMessages = 2000; // 2 seconds
     private int inactivityThreshold = 30000; // 30 seconds
-    private int spamWindowSeconds = 60; // 1 minute
-    private int maxMessagesInWindow = 15; // Max messages per minute before warning
+    private double burst = 15; // Messages a player can receive in a row
+    private double refillPerMs = 15 / 60_000.0; // Messages regained per millisecond
     
     public SmartProgressTracker(WDPQuestPlugin plugin) {
         this.plugin = plugin;
@@ -44,25 +44,38 @@ public class SmartProgressTracker {
     }
     
     private void loadConfig() {
-        var config = plugin.getConfigManager();
         // Load from config if available
         minTimeBetweenMessages = plugin.getConfig().getInt("progress-updates.min-time-between-ms", 2000);
         inactivityThreshold = plugin.getConfig().getInt("progress-updates.inactivity-threshold-ms", 30000);
-        spamWindowSeconds = plugin.getConfig().getInt("progress-updates.spam-window-seconds", 60);
-        maxMessagesInWindow = plugin.getConfig().getInt("progress-updates.max-messages-in-window", 15);
+        
+        // Token bucket; defaults keep the old "N messages per window" behaviour
+        int windowSeconds = Math.max(1, plugin.getConfig().getInt("progress-updates.spam-window-seconds", 60));
+        int maxInWindow = Math.max(1, plugin.getConfig().getInt("progress-updates.max-messages-in-window", 15));
+        burst = Math.max(1, plugin.getConfig().getDouble("progress-updates.burst", maxInWindow));
+        double refillPerMinute = plugin.getConfig().getDouble("progress-updates.refill-per-minute",
+            maxInWindow * 60.0 / windowSeconds);
+        refillPerMs = Math.max(0, refillPerMinute) / 60_000.0;
+    }
+    
+    /**
+     * Reload configuration. Quest indexes may change on reload, so timing state is reset.
+     */
+    public void reload() {
+        loadConfig();
+        states.clear();
     }
     
     /**
      * Check if a progress update should be shown
      * 
      * @param player The player
-     * @param questId The quest ID
-     * @param objectiveId The objective ID
+     * @param quest The quest
+     * @param objective The objective
      * @param currentAmount Current progress
      * @param targetAmount Target progress
      * @return true if update should be shown
      */
-    public boolean shouldShowUpdate(Player player, String questId, String objectiveId, 
+    public boolean shouldShowUpdate(Player player, Quest quest, QuestObjective objective,
                                    int currentAmount, int targetAmount) {
         UUID uuid = player.getUniqueId();
         
@@ -71,46 +84,49 @@ public class SmartProgressTracker {
             return false;
         }
         
-        String progressKey = uuid + ":" + questId + ":" + objectiveId;
-        String messageKey = uuid + ":" + questId;
+        PlayerState state = states.get(uuid);
+        if (state == null) {
+            state = new PlayerState(new TokenBucket(burst, refillPerMs, System.currentTimeMillis()));
+            states.put(uuid, state);
+        }
+        int questIndex = quest.getIndex();
+        int objectiveIndex = objective.getIndex();
         long now = System.currentTimeMillis();
         
         // Always show completion
         if (currentAmount >= targetAmount) {
-            recordMessage(uuid, now);
+            recordMessage(state, questIndex, now);
             return true;
         }
         
         // Check if this is a milestone
         if (!isMilestone(currentAmount, targetAmount)) {
             // Not a milestone, but check for inactivity update
-            Long lastProgress = lastProgressTime.get(progressKey);
-            if (lastProgress != null && (now - lastProgress) > inactivityThreshold) {
+            long lastProgress = state.getLastProgress(questIndex, objectiveIndex);
+            state.setLastProgress(questIndex, objectiveIndex, now);
+            if (lastProgress != 0 && (now - lastProgress) > inactivityThreshold) {
                 // Been inactive, show update on return
-                lastProgressTime.put(progressKey, now);
-                if (canSendMessage(messageKey, now)) {
-                    recordMessage(uuid, now);
+                if (canSendMessage(state, questIndex, now)) {
+                    recordMessage(state, questIndex, now);
                     return true;
                 }
-            } else {
-                lastProgressTime.put(progressKey, now);
             }
             return false;
         }
         
         // This is a milestone, check timing
-        lastProgressTime.put(progressKey, now);
+        state.setLastProgress(questIndex, objectiveIndex, now);
         
-        if (!canSendMessage(messageKey, now)) {
+        if (!canSendMessage(state, questIndex, now)) {
             // Too soon since last message, skip this milestone
             return false;
         }
         
         // Check for spam
-        recordMessage(uuid, now);
-        if (isSpamming(uuid, now)) {
+        recordMessage(state, questIndex, now);
+        if (state.bucket.shouldWarn()) {
             // Show spam warning
-            player.sendMessage(plugin.getMessages().get("quest.progress-spam-warning"));
+            player.sendMessage(plugin.getMessages().get("progress-spam-warning"));
             return true; // Still show this update
         }
         
@@ -142,50 +158,19 @@ public class SmartProgressTracker {
     }
     
     /**
-     * Check if enough time has passed since last message
-     */
-    private boolean canSendMessage(String messageKey, long now) {
-        Long lastTime = lastMessageTime.get(messageKey);
-        if (lastTime == null) {
-            return true;
-        }
-        return (now - lastTime) >= minTimeBetweenMessages;
-    }
-    
-    /**
-     * Record that a message was sent
-     */
-    private void recordMessage(UUID uuid, long now) {
-        String messageKey = uuid + ":*"; // Track all messages for this player
-        lastMessageTime.put(messageKey, now);
-        
-        // Add to history for spam detection
-        messageHistory.computeIfAbsent(uuid, k -> new ArrayList<>()).add(now);
-        
-        // Clean old history
-        cleanOldHistory(uuid, now);
-    }
-    
-    /**
-     * Check if player is spamming (too many messages in time window)
+     * Check if enough time has passed since the last message for this quest
      */
-    private boolean isSpamming(UUID uuid, long now) {
-        List<Long> history = messageHistory.get(uuid);
-        if (history == null) return false;
-        
-        cleanOldHistory(uuid, now);
-        return history.size() >= maxMessagesInWindow;
+    private boolean canSendMessage(PlayerState state, int questIndex, long now) {
+        long lastTime = state.getLastMessage(questIndex);
+        return lastTime == 0 || (now - lastTime) >= minTimeBetweenMessages;
     }
     
     /**
-     * Remove old message history outside the spam window
+     * Record that a message was sent, taking a token from the player's bucket
      */
-    private void cleanOldHistory(UUID uuid, long now) {
-        List<Long> history = messageHistory.get(uuid);
-        if (history == null) return;
-        
-        long windowStart = now - (spamWindowSeconds * 1000L);
-        history.removeIf(time -> time < windowStart);
+    private void recordMessage(PlayerState state, int questIndex, long now) {
+        state.setLastMessage(questIndex, now);
+        state.bucket.take(now);
     }
     
     /**
@@ -214,9 +199,53 @@ public class SmartProgressTracker {
      * Clear tracking data for a player (on logout)
      */
     public void clearPlayer(UUID uuid) {
-        String prefix = uuid.toString() + ":";
-        lastProgressTime.keySet().removeIf(key -> key.startsWith(prefix));
-        lastMessageTime.keySet().removeIf(key -> key.startsWith(prefix));
-        messageHistory.remove(uuid);
+        states.remove(uuid);
+    }
+    
+    /**
+     * Timing state of one player. Times are 0 when nothing was recorded yet.
+     */
+    private static final class PlayerState {
+        private static final long[] NONE = new long[0];
+        
+        // Last message time by quest index
+        long[] lastMessage = NONE;
+        // Last progress time by quest index, then objective index
+        long[][] lastProgress = new long[0][];
+        // Token bucket for spam detection
+        final TokenBucket bucket;
+        
+        PlayerState(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+        
+        long getLastMessage(int questIndex) {
+            return questIndex < lastMessage.length ? lastMessage[questIndex] : 0;
+        }
+        
+        void setLastMessage(int questIndex, long time) {
+            if (questIndex >= lastMessage.length) {
+                lastMessage = Arrays.copyOf(lastMessage, Math.max(questIndex + 1, lastMessage.length * 2));
+            }
+            lastMessage[questIndex] = time;
+        }
+        
+        long getLastProgress(int questIndex, int objectiveIndex) {
+            if (questIndex >= lastProgress.length) return 0;
+            long[] objectives = lastProgress[questIndex];
+            return objectives != null && objectiveIndex < objectives.length ? objectives[objectiveIndex] : 0;
+        }
+        
+        void setLastProgress(int questIndex, int objectiveIndex, long time) {
+            if (questIndex >= lastProgress.length) {
+                lastProgress = Arrays.copyOf(lastProgress, Math.max(questIndex + 1, lastProgress.length * 2));
+            }
+            long[] objectives = lastProgress[questIndex];
+            if (objectives == null || objectiveIndex >= objectives.length) {
+                objectives = objectives == null ? new long[objectiveIndex + 1] : Arrays.copyOf(objectives, objectiveIndex + 1);
+                lastProgress[questIndex] = objectives;
+            }
+            objectives[objectiveIndex] = time;
+        }
     }
 }
@@ -0,0 +1,131 @@
+package com.wdp.quest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string with {key} placeholders, split once into literal parts and keys
+ * so filling it in is a single pass without any searching.
+ * Unknown keys are left in the text as they were.
+ */
+public final class TextTemplate {
+
+    // Reused per thread for rendering; dropped when a huge text made it grow
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_KEPT_CAPACITY = 8192;
+
+    private final String source;
+    // literals[i] comes before keys[i]; the last literal ends the text
+    private final String[] literals;
+    private final String[] keys;
+
+    private TextTemplate(String source, String[] literals, String[] keys) {
+        this.source = source;
+        this.literals = literals;
+        this.keys = keys;
+    }
+
+    /**
+     * Split a text into literal parts and placeholder keys
+     */
+    public static TextTemplate compile(String text) {
+        if (text == null) text = "";
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+
+        int start = 0;
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) break;
+            // A nested '{' starts the placeholder over: "{{a}" is "{" + {a}
+            int nested = text.lastIndexOf('{', close);
+            if (nested > open) open = nested;
+            if (close > open + 1) {
+                literals.add(text.substring(start, open));
+                keys.add(text.substring(open + 1, close));
+                start = close + 1;
+            }
+            open = text.indexOf('{', close + 1);
+        }
+        literals.add(text.substring(start));
+
+        return new TextTemplate(text, literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    /**
+     * Whether the text has no placeholders at all
+     */
+    public boolean isStatic() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Fill in placeholders from a map; values are converted with toString()
+     */
+    public String apply(Map<String, ?> values) {
+        if (keys.length == 0) return literals[0];
+
+        StringBuilder sb = builder();
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(literals[i]);
+            Object value = values != null ? values.get(keys[i]) : null;
+            if (value != null) {
+                sb.append(value);
+            } else if (values == null || !values.containsKey(keys[i])) {
+                sb.append('{').append(keys[i]).append('}');
+            }
+        }
+        sb.append(literals[keys.length]);
+        return finish(sb);
+    }
+
+    /**
+     * Fill in placeholders from key-value pairs: "key1", "value1", "key2", "value2"...
+     */
+    public String apply(String... placeholders) {
+        if (keys.length == 0) return literals[0];
+
+        StringBuilder sb = builder();
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(literals[i]);
+            String value = null;
+            for (int p = 0; p < placeholders.length - 1; p += 2) {
+                if (keys[i].equals(placeholders[p])) {
+                    value = placeholders[p + 1];
+                    break;
+                }
+            }
+            if (value != null) {
+                sb.append(value);
+            } else {
+                sb.append('{').append(keys[i]).append('}');
+            }
+        }
+        sb.append(literals[keys.length]);
+        return finish(sb);
+    }
+
+    private static StringBuilder builder() {
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static String finish(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() > MAX_KEPT_CAPACITY) {
+            BUILDER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * The text this template was compiled from
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,58 @@
+package com.wdp.quest.util;
+
+/**
+ * Token bucket used for progress message spam detection. Holds up to
+ * {@code burst} tokens, each message takes one and tokens are regained
+ * continuously at {@code refillPerMs}. Times are passed in by the caller.
+ */
+final class TokenBucket {
+
+    private final double burst;
+    private final double refillPerMs;
+    private double tokens;
+    private long lastRefill;
+    private boolean warned;
+
+    TokenBucket(double burst, double refillPerMs, long now) {
+        this.burst = burst;
+        this.refillPerMs = refillPerMs;
+        this.tokens = burst;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Take a token for a message sent at the given time
+     */
+    void take(long now) {
+        refill(now);
+        tokens = Math.max(0, tokens - 1);
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed * refillPerMs);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * Whether to warn about spam: the bucket ran dry. Warns once per empty
+     * bucket; the warning re-arms after a token was regained.
+     */
+    boolean shouldWarn() {
+        if (tokens >= 1) {
+            warned = false;
+            return false;
+        }
+        if (warned) {
+            return false;
+        }
+        warned = true;
+        return true;
+    }
+
+    double getTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,152 @@
+package com.wdp.quest.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MenuConditionParserTest {
+
+    private static MenuContext context(int page, int totalPages, boolean active, boolean completed,
+                                       double coins, double tokens, double progress) {
+        return new MenuContext(null, page, totalPages, active, completed, () -> coins, () -> tokens, () -> progress);
+    }
+
+    private static MenuContext page(int page, int totalPages) {
+        return context(page, totalPages, false, false, 0, 0, 0);
+    }
+
+    private static String errorOf(String expression) {
+        return assertThrows(IllegalArgumentException.class, () -> MenuCondition.compile(expression)).getMessage();
+    }
+
+    @Test
+    void emptyConditionIsAlwaysShown() {
+        assertSame(MenuCondition.ALWAYS, MenuCondition.compile(null));
+        assertSame(MenuCondition.ALWAYS, MenuCondition.compile("   "));
+    }
+
+    @Test
+    void comparesPages() {
+        MenuCondition previous = MenuCondition.compile("page > 0");
+        MenuCondition next = MenuCondition.compile("page < total_pages - 1");
+
+        assertFalse(previous.test(page(0, 3)));
+        assertTrue(previous.test(page(1, 3)));
+        assertTrue(next.test(page(1, 3)));
+        assertFalse(next.test(page(2, 3)));
+    }
+
+    @Test
+    void keepsLegacyNextPageShorthands() {
+        for (String expression : new String[]{"page < total_pages", "page > total_pages", "page>total_pages"}) {
+            MenuCondition next = MenuCondition.compile(expression);
+            assertTrue(next.test(page(1, 3)), expression);
+            assertFalse(next.test(page(2, 3)), expression);
+        }
+        // Anything else is a plain comparison
+        assertTrue(MenuCondition.compile("page < total_pages + 0").test(page(2, 3)));
+    }
+
+    @Test
+    void supportsEveryOperator() {
+        MenuContext context = page(2, 5);
+        assertTrue(MenuCondition.compile("page >= 2").test(context));
+        assertTrue(MenuCondition.compile("page <= 2").test(context));
+        assertTrue(MenuCondition.compile("page == 2").test(context));
+        assertFalse(MenuCondition.compile("page != 2").test(context));
+        assertTrue(MenuCondition.compile("page + 3 == total_pages").test(context));
+        assertTrue(MenuCondition.compile("-page < 0").test(context));
+        assertTrue(MenuCondition.compile("page > 1.5").test(context));
+    }
+
+    @Test
+    void combinesFlagsWithPrecedence() {
+        MenuCondition condition = MenuCondition.compile("is_active && !is_completed || false");
+
+        assertTrue(condition.test(context(0, 1, true, false, 0, 0, 0)));
+        assertFalse(condition.test(context(0, 1, true, true, 0, 0, 0)));
+        assertFalse(condition.test(context(0, 1, false, false, 0, 0, 0)));
+
+        // && binds tighter than ||
+        MenuCondition mixed = MenuCondition.compile("true || false && false");
+        assertTrue(mixed.test(page(0, 1)));
+        MenuCondition grouped = MenuCondition.compile("(true || false) && false");
+        assertFalse(grouped.test(page(0, 1)));
+    }
+
+    @Test
+    void readsBalancesAndProgress() {
+        MenuCondition condition = MenuCondition.compile("coins >= 500 && tokens > 0 && progress >= 50");
+
+        assertTrue(condition.test(context(0, 1, false, false, 500, 1, 50)));
+        assertFalse(condition.test(context(0, 1, false, false, 499, 1, 50)));
+        assertFalse(condition.test(context(0, 1, false, false, 500, 0, 50)));
+    }
+
+    @Test
+    void onlyLooksUpBalancesWhenUsed() {
+        MenuContext context = new MenuContext(null, 1, 2, false, false,
+            () -> { throw new AssertionError("coins looked up"); },
+            () -> { throw new AssertionError("tokens looked up"); },
+            () -> { throw new AssertionError("progress looked up"); });
+
+        assertTrue(MenuCondition.compile("page > 0").test(context));
+        // Short-circuits before the balance is needed
+        assertFalse(MenuCondition.compile("page > 1 && coins > 0").test(context));
+    }
+
+    @Test
+    void permissionIsFalseWithoutViewer() {
+        MenuCondition condition = MenuCondition.compile("has_permission('wdp.quest.vip')");
+        assertFalse(condition.test(page(0, 1)));
+        assertTrue(MenuCondition.compile("!has_permission(\"wdp.quest.vip\")").test(page(0, 1)));
+    }
+
+    @Test
+    void reportsUnknownNameAtItsPosition() {
+        String message = errorOf("page > 0 && pgae < 2");
+        assertTrue(message.startsWith("unknown name 'pgae'"), message);
+        assertTrue(message.endsWith("at position 13 in 'page > 0 && pgae < 2'"), message);
+    }
+
+    @Test
+    void reportsFlagUsedAsNumber() {
+        String message = errorOf("coins >= is_active");
+        assertTrue(message.startsWith("'is_active' is a flag, not a number"), message);
+        assertTrue(message.contains("at position 10"), message);
+    }
+
+    @Test
+    void reportsMissingOperand() {
+        assertEquals("expression ends too early at position 7 in 'page >'", errorOf("page >"));
+    }
+
+    @Test
+    void reportsMissingComparison() {
+        assertEquals("expected a comparison such as '>' or '==' after a number at position 5 in 'page'",
+            errorOf("page"));
+    }
+
+    @Test
+    void reportsTrailingInput() {
+        assertEquals("unexpected ')' at position 10 in 'page > 0 )'", errorOf("page > 0 )"));
+        assertEquals("unexpected '>' at position 11 in 'is_active > 1'", errorOf("is_active > 1"));
+    }
+
+    @Test
+    void reportsUnclosedGroupAndText() {
+        assertEquals("expected ')' at position 10 in '(page > 0'", errorOf("(page > 0"));
+        assertEquals("expected a quoted text at position 16 in 'has_permission(x)'", errorOf("has_permission(x)"));
+        assertEquals("text is not closed with ' at position 16 in 'has_permission('x)'",
+            errorOf("has_permission('x)"));
+    }
+
+    @Test
+    void reportsInvalidNumber() {
+        assertEquals("invalid number '1.2.3' at position 8 in 'page > 1.2.3'", errorOf("page > 1.2.3"));
+    }
+}
@@ -0,0 +1,279 @@
+package com.wdp.quest.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the schema steps and the stats backfill against an in-memory SQLite database
+ */
+class DatabaseMigratorTest {
+
+    private static final long TODAY = LocalDate.now().toEpochDay();
+
+    private Connection conn;
+    private DatabaseMigrator migrator;
+
+    @BeforeEach
+    void open() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        // Schema steps don't touch the plugin or the pool when given a connection
+        migrator = new DatabaseMigrator(null, null);
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void migratesEmptyDatabaseToLatest() throws SQLException {
+        assertEquals(migrator.getLatestVersion(), migrator.migrate(conn).size());
+        assertEquals(migrator.getLatestVersion(), migrator.getSchemaVersion());
+        assertEquals(migrator.getLatestVersion(), queryLong("SELECT COUNT(*) FROM schema_version"));
+
+        // Running again applies nothing
+        DatabaseMigrator restarted = new DatabaseMigrator(null, null);
+        assertEquals(0, restarted.migrate(conn).size());
+        assertEquals(migrator.getLatestVersion(), restarted.getSchemaVersion());
+    }
+
+    @Test
+    void keepsDailyAssignmentsPerDay() throws SQLException {
+        migrator.migrate(conn);
+
+        execute("INSERT INTO daily_assignments (uuid, day, quest_ids, recent_ids) VALUES ('p', 10, 'a,b', 'a,b')");
+        execute("INSERT INTO daily_assignments (uuid, day, quest_ids, recent_ids) VALUES ('p', 11, 'c,d', 'a,b,c,d')");
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM daily_assignments WHERE uuid = 'p'"));
+
+        assertThrows(SQLException.class, () ->
+            execute("INSERT INTO daily_assignments (uuid, day, quest_ids) VALUES ('p', 11, 'e')"));
+    }
+
+    @Test
+    void appliesOnlyPendingSteps() throws SQLException {
+        // A database left at v4, before daily assignments were stored
+        execute("""
+            CREATE TABLE schema_version (
+                version INT NOT NULL PRIMARY KEY,
+                description VARCHAR(128) NOT NULL,
+                applied_at BIGINT NOT NULL
+            )
+        """);
+        for (int version = 1; version <= 4; version++) {
+            execute("INSERT INTO schema_version VALUES (" + version + ", 'v" + version + "', 0)");
+        }
+
+        assertEquals(migrator.getLatestVersion() - 4, migrator.migrate(conn).size());
+        assertEquals(migrator.getLatestVersion(), migrator.getSchemaVersion());
+
+        execute("INSERT INTO daily_assignments (uuid, day, quest_ids) VALUES ('p', 10, 'a,b')");
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT recent_ids FROM daily_assignments WHERE uuid = 'p'")) {
+            assertTrue(rs.next());
+            assertEquals("", rs.getString("recent_ids"));
+        }
+    }
+
+    @Test
+    void backfillMergesHistoryIntoLiveRows() throws SQLException {
+        migrator.migrate(conn);
+        long liveSince = noon(TODAY - 1) - 1000;
+        execute("UPDATE schema_version SET applied_at = " + liveSince + " WHERE version = 4");
+
+        // History from before the stats table: three days in a row, one hard quest
+        complete("live", "old1", TODAY - 4);
+        complete("live", "hard1", TODAY - 3);
+        complete("live", "old2", TODAY - 3);
+        complete("live", "old3", TODAY - 2);
+        // Completed after the table existed, so the live upsert already counted it
+        complete("live", "new1", TODAY - 1);
+        insertStats("live", 1, 0, 25.0, 1, 1, TODAY - 1);
+
+        runBackfill(Set.of("hard1"));
+
+        try (ResultSet rs = stats("live")) {
+            assertEquals(5, rs.getInt("completed_count"));
+            assertEquals(1, rs.getInt("hard_completed"));
+            assertEquals(25.0, rs.getDouble("coins_earned"));
+            assertEquals(4, rs.getInt("current_streak"));
+            assertEquals(4, rs.getInt("best_streak"));
+            assertEquals(TODAY - 1, rs.getLong("streak_day"));
+            assertEquals(noon(TODAY - 1), rs.getLong("last_completion"));
+        }
+    }
+
+    @Test
+    void backfillKeepsLiveRunOfReplacedRows() throws SQLException {
+        migrator.migrate(conn);
+        long liveSince = noon(TODAY - 3) - 1000;
+        execute("UPDATE schema_version SET applied_at = " + liveSince + " WHERE version = 4");
+
+        complete("repeat", "old", TODAY - 10);
+        // A repeatable quest completed live on three days; only its latest row is left
+        complete("repeat", "daily", TODAY);
+        insertStats("repeat", 3, 0, 0, 3, 3, TODAY);
+
+        runBackfill(Set.of());
+
+        try (ResultSet rs = stats("repeat")) {
+            assertEquals(4, rs.getInt("completed_count"));
+            assertEquals(3, rs.getInt("current_streak"));
+            assertEquals(3, rs.getInt("best_streak"));
+            assertEquals(TODAY, rs.getLong("streak_day"));
+        }
+    }
+
+    @Test
+    void backfillCreatesRowsForHistoryOnlyPlayers() throws SQLException {
+        migrator.migrate(conn);
+
+        complete("history", "a", TODAY - 30);
+        complete("history", "b", TODAY - 20);
+        complete("history", "c", TODAY - 19);
+        // Not completed, not counted
+        execute("INSERT INTO player_quests (uuid, quest_id, status, started_at) VALUES ('history', 'd', 'ACTIVE', 0)");
+
+        runBackfill(Set.of("c"));
+
+        try (ResultSet rs = stats("history")) {
+            assertEquals(3, rs.getInt("completed_count"));
+            assertEquals(1, rs.getInt("hard_completed"));
+            assertEquals(0.0, rs.getDouble("coins_earned"));
+            assertEquals(2, rs.getInt("current_streak"));
+            assertEquals(2, rs.getInt("best_streak"));
+            assertEquals(TODAY - 19, rs.getLong("streak_day"));
+        }
+    }
+
+    @Test
+    void backfillPagesThroughPlayers() throws SQLException {
+        migrator.migrate(conn);
+        for (String uuid : new String[]{"a", "b", "c"}) {
+            complete(uuid, "q", TODAY - 5);
+        }
+
+        DatabaseMigrator.BackfillStats backfill = new DatabaseMigrator.BackfillStats(id -> false, DatabaseMigratorTest::midnightDay);
+        assertEquals(3, backfill.countTotal(conn));
+
+        DataMigration.Chunk first = backfill.migrateChunk(conn, "", 2);
+        assertEquals("b", first.cursor);
+        assertEquals(2, first.processed);
+        DataMigration.Chunk second = backfill.migrateChunk(conn, first.cursor, 2);
+        assertNull(second.cursor);
+        assertEquals(1, second.processed);
+
+        assertEquals(3, queryLong("SELECT COUNT(*) FROM player_quest_stats"));
+    }
+
+    @Test
+    void backfillUsesQuestDays() throws SQLException {
+        migrator.migrate(conn);
+        // Days reset at 04:00, so 23:00 and 02:00 the next night fall on the same quest day
+        long evening = noon(TODAY - 2) + 11 * 3_600_000L;
+        long night = noon(TODAY - 1) - 10 * 3_600_000L;
+        completeAt("late", "a", evening);
+        completeAt("late", "b", night);
+
+        runBackfill(Set.of(), at -> midnightDay(at - 4 * 3_600_000L));
+
+        try (ResultSet rs = stats("late")) {
+            assertEquals(2, rs.getInt("completed_count"));
+            assertEquals(1, rs.getInt("best_streak"));
+            assertEquals(TODAY - 2, rs.getLong("streak_day"));
+        }
+    }
+
+    private void runBackfill(Set<String> hardQuests) throws SQLException {
+        runBackfill(hardQuests, DatabaseMigratorTest::midnightDay);
+    }
+
+    private void runBackfill(Set<String> hardQuests, LongUnaryOperator questDay) throws SQLException {
+        DatabaseMigrator.BackfillStats backfill = new DatabaseMigrator.BackfillStats(hardQuests::contains, questDay);
+        String cursor = "";
+        while (cursor != null) {
+            cursor = backfill.migrateChunk(conn, cursor, 1).cursor;
+        }
+    }
+
+    private static long noon(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long midnightDay(long timestamp) {
+        return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private void complete(String uuid, String questId, long day) throws SQLException {
+        completeAt(uuid, questId, noon(day));
+    }
+
+    private void completeAt(String uuid, String questId, long completedAt) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO player_quests (uuid, quest_id, status, started_at, completed_at) VALUES (?, ?, 'COMPLETED', ?, ?)")) {
+            stmt.setString(1, uuid);
+            stmt.setString(2, questId);
+            stmt.setLong(3, completedAt - 60_000);
+            stmt.setLong(4, completedAt);
+            stmt.executeUpdate();
+        }
+    }
+
+    private void insertStats(String uuid, int completed, int hard, double coins, int current, int best, long day)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO player_quest_stats
+                (uuid, completed_count, hard_completed, coins_earned, current_streak, best_streak, last_completion, streak_day)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """)) {
+            stmt.setString(1, uuid);
+            stmt.setInt(2, completed);
+            stmt.setInt(3, hard);
+            stmt.setDouble(4, coins);
+            stmt.setInt(5, current);
+            stmt.setInt(6, best);
+            stmt.setLong(7, noon(day));
+            stmt.setLong(8, day);
+            stmt.executeUpdate();
+        }
+    }
+
+    private ResultSet stats(String uuid) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement("SELECT * FROM player_quest_stats WHERE uuid = ?");
+        stmt.closeOnCompletion();
+        stmt.setString(1, uuid);
+        ResultSet rs = stmt.executeQuery();
+        assertTrue(rs.next(), "no stats row for " + uuid);
+        return rs;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
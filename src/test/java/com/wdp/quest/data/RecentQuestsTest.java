@@ -0,0 +1,83 @@
+package com.wdp.quest.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentQuestsTest {
+
+    @Test
+    void remembersUpToCapacity() {
+        RecentQuests recent = new RecentQuests(3);
+        recent.add("a");
+        recent.add("b");
+        recent.add("c");
+        recent.add("d");
+
+        assertEquals(3, recent.size());
+        assertFalse(recent.contains("a"));
+        assertTrue(recent.contains("b"));
+        assertTrue(recent.contains("d"));
+        assertEquals("b,c,d", recent.pack());
+    }
+
+    @Test
+    void ignoresDuplicates() {
+        RecentQuests recent = new RecentQuests(3);
+        recent.add("a");
+        recent.add("a");
+        recent.add("b");
+
+        assertEquals(2, recent.size());
+        assertEquals("a,b", recent.pack());
+    }
+
+    @Test
+    void zeroCapacityRemembersNothing() {
+        RecentQuests recent = new RecentQuests(0);
+        recent.add("a");
+
+        assertEquals(0, recent.size());
+        assertFalse(recent.contains("a"));
+        assertEquals("", recent.pack());
+    }
+
+    @Test
+    void packsOldestFirstAfterWrapping() {
+        RecentQuests recent = new RecentQuests(2);
+        for (String id : new String[]{"a", "b", "c", "d", "e"}) {
+            recent.add(id);
+        }
+        assertEquals("d,e", recent.pack());
+    }
+
+    @Test
+    void unpackRoundTrips() {
+        RecentQuests recent = RecentQuests.unpack("a,b,c", 5);
+        assertEquals(3, recent.size());
+        assertEquals("a,b,c", recent.pack());
+
+        assertEquals(0, RecentQuests.unpack("", 5).size());
+        assertEquals(0, RecentQuests.unpack(null, 5).size());
+    }
+
+    @Test
+    void unpackKeepsNewestWhenCapacityShrank() {
+        RecentQuests recent = RecentQuests.unpack("a,b,c,d", 2);
+        assertEquals("c,d", recent.pack());
+        assertFalse(recent.contains("a"));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        RecentQuests recent = RecentQuests.unpack("a,b", 3);
+        RecentQuests copy = recent.copy();
+        copy.add("c");
+        copy.add("d");
+
+        assertEquals("a,b", recent.pack());
+        assertEquals("b,c,d", copy.pack());
+    }
+}
@@ -0,0 +1,79 @@
+package com.wdp.quest.quest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AliasTableTest {
+
+    private static final int DRAWS = 200_000;
+
+    private static double[] frequencies(AliasTable table, long seed) {
+        Random random = new Random(seed);
+        double[] counts = new double[table.size()];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[table.sample(random)]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] /= DRAWS;
+        }
+        return counts;
+    }
+
+    @Test
+    void drawsProportionalToWeight() {
+        double[] weights = {1, 2, 3, 4};
+        double[] frequencies = frequencies(new AliasTable(weights, weights.length), 42);
+
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / 10.0, frequencies[i], 0.01, "index " + i);
+        }
+    }
+
+    @Test
+    void neverDrawsZeroWeights() {
+        double[] weights = {0, 1, 3, 0};
+        double[] frequencies = frequencies(new AliasTable(weights, weights.length), 7);
+
+        assertEquals(0.0, frequencies[0]);
+        assertEquals(0.0, frequencies[3]);
+        assertEquals(0.25, frequencies[1], 0.01);
+        assertEquals(0.75, frequencies[2], 0.01);
+    }
+
+    @Test
+    void allZeroWeightsDrawUniformly() {
+        double[] frequencies = frequencies(new AliasTable(new double[]{0, 0, 0, 0}, 4), 3);
+
+        for (double frequency : frequencies) {
+            assertEquals(0.25, frequency, 0.01);
+        }
+    }
+
+    @Test
+    void onlyUsesThePrefix() {
+        double[] weights = {1, 1, 1000};
+        AliasTable table = new AliasTable(weights, 2);
+        assertEquals(2, table.size());
+
+        double[] frequencies = frequencies(table, 11);
+        assertEquals(0.5, frequencies[0], 0.01);
+        assertEquals(0.5, frequencies[1], 0.01);
+    }
+
+    @Test
+    void singleEntryIsAlwaysDrawn() {
+        AliasTable table = new AliasTable(new double[]{5}, 1);
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, table.sample(random));
+        }
+    }
+
+    @Test
+    void emptyTableHasNoEntries() {
+        assertEquals(0, new AliasTable(new double[0], 0).size());
+    }
+}
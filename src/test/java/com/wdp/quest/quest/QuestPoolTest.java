@@ -0,0 +1,128 @@
+package com.wdp.quest.quest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestPoolTest {
+
+    private static Quest quest(String id, double requiredProgress) {
+        return new Quest(id).requiredProgress(requiredProgress);
+    }
+
+    private static QuestPool pool() {
+        return new QuestPool(List.of(
+            quest("late", 50),
+            quest("start", 0),
+            quest("early", 10),
+            quest("early2", 10),
+            quest("end", 90)));
+    }
+
+    private static List<String> drawAll(QuestPool.Sampler sampler) {
+        List<String> ids = new ArrayList<>();
+        while (sampler.hasNext()) {
+            ids.add(sampler.next().getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void sortsByRequiredProgressThenOrderThenId() {
+        QuestPool pool = new QuestPool(List.of(
+            quest("b", 10),
+            quest("a", 10),
+            quest("first", 10).sortOrder(-1),
+            quest("zero", 0)));
+
+        assertEquals("zero", pool.get(0).getId());
+        assertEquals("first", pool.get(1).getId());
+        assertEquals("a", pool.get(2).getId());
+        assertEquals("b", pool.get(3).getId());
+    }
+
+    @Test
+    void eligibleQuestsFormAPrefix() {
+        QuestPool pool = pool();
+
+        assertEquals(0, pool.eligibleCount(-1));
+        assertEquals(1, pool.eligibleCount(0));
+        assertEquals(1, pool.eligibleCount(9.99));
+        assertEquals(3, pool.eligibleCount(10));
+        assertEquals(4, pool.eligibleCount(89));
+        assertEquals(5, pool.eligibleCount(100));
+    }
+
+    @Test
+    void samplerOnlyDrawsEligibleQuestsOnce() {
+        QuestPool.Sampler sampler = pool().sampler(50, new Random(1));
+        List<String> drawn = drawAll(sampler);
+
+        assertEquals(4, drawn.size());
+        assertEquals(Set.of("start", "early", "early2", "late"), new HashSet<>(drawn));
+        assertNull(sampler.next());
+    }
+
+    @Test
+    void nothingIsEligibleBelowTheFirstThreshold() {
+        QuestPool.Sampler sampler = pool().sampler(-5, new Random(1));
+        assertFalse(sampler.hasNext());
+        assertNull(sampler.next());
+    }
+
+    @Test
+    void avoidedQuestsComeLast() {
+        for (long seed = 0; seed < 20; seed++) {
+            QuestPool.Sampler sampler = pool().sampler(100, new Random(seed), quest -> quest.getId().startsWith("early"));
+            List<String> drawn = drawAll(sampler);
+
+            assertEquals(5, drawn.size());
+            assertEquals(Set.of("early", "early2"), new HashSet<>(drawn.subList(3, 5)), "seed " + seed);
+        }
+    }
+
+    @Test
+    void zeroWeightQuestsAreNeverDrawn() {
+        QuestPool pool = new QuestPool(List.of(
+            quest("never", 0).weight(0),
+            quest("a", 0),
+            quest("b", 0)));
+
+        assertEquals(2, pool.size());
+        assertEquals(2, pool.eligibleCount(0));
+        for (long seed = 0; seed < 20; seed++) {
+            List<String> drawn = drawAll(pool.sampler(0, new Random(seed)));
+            assertEquals(2, drawn.size(), "seed " + seed);
+            assertFalse(drawn.contains("never"), "seed " + seed);
+        }
+    }
+
+    @Test
+    void weightsSkewTheFirstDraw() {
+        QuestPool pool = new QuestPool(List.of(
+            quest("common", 0).weight(9),
+            quest("rare", 0).weight(1)));
+        Random random = new Random(5);
+
+        int common = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (pool.sampler(0, random).next().getId().equals("common")) common++;
+        }
+        assertEquals(0.9, common / 10_000.0, 0.02);
+    }
+
+    @Test
+    void emptyPoolHasNothingToDraw() {
+        assertTrue(QuestPool.empty().isEmpty());
+        assertFalse(QuestPool.empty().sampler(100, new Random()).hasNext());
+    }
+}
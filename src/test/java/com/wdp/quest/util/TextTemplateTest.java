@@ -0,0 +1,81 @@
+package com.wdp.quest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextTemplateTest {
+
+    @Test
+    void staticTextIsReturnedAsIs() {
+        TextTemplate template = TextTemplate.compile("&aNo placeholders here");
+        assertTrue(template.isStatic());
+        assertSame(template.toString(), template.apply("key", "value"));
+    }
+
+    @Test
+    void nullCompilesToEmptyText() {
+        assertEquals("", TextTemplate.compile(null).apply(Map.of()));
+    }
+
+    @Test
+    void fillsPairs() {
+        TextTemplate template = TextTemplate.compile("{player} completed {quest}!");
+        assertFalse(template.isStatic());
+        assertEquals("Steve completed Miner!", template.apply("quest", "Miner", "player", "Steve"));
+    }
+
+    @Test
+    void fillsMapValuesWithToString() {
+        TextTemplate template = TextTemplate.compile("Page {page}/{total}");
+        assertEquals("Page 2/5", template.apply(Map.of("page", 2, "total", 5)));
+    }
+
+    @Test
+    void keepsUnknownKeys() {
+        TextTemplate template = TextTemplate.compile("{known} and {unknown}");
+        assertEquals("yes and {unknown}", template.apply("known", "yes"));
+        assertEquals("yes and {unknown}", template.apply(Map.of("known", "yes")));
+        assertEquals("{known} and {unknown}", template.apply((Map<String, ?>) null));
+    }
+
+    @Test
+    void mapsNullValueToEmptyText() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("value", null);
+        assertEquals("[]", TextTemplate.compile("[{value}]").apply(values));
+    }
+
+    @Test
+    void ignoresOddTrailingPair() {
+        assertEquals("a={a}", TextTemplate.compile("a={a}").apply("a"));
+    }
+
+    @Test
+    void handlesBracesThatAreNotPlaceholders() {
+        assertEquals("{} stays", TextTemplate.compile("{} stays").apply("", "x"));
+        assertEquals("open { only", TextTemplate.compile("open { only").apply("only", "x"));
+        assertEquals("{x", TextTemplate.compile("{{a}").apply("a", "x"));
+        assertEquals("x}", TextTemplate.compile("{a}}").apply("a", "x"));
+    }
+
+    @Test
+    void repeatsKeys() {
+        assertEquals("1-1", TextTemplate.compile("{n}-{n}").apply("n", "1"));
+    }
+
+    @Test
+    void rendersLongTextsRepeatedly() {
+        String value = "x".repeat(20_000);
+        TextTemplate template = TextTemplate.compile("<{v}>");
+        assertEquals(20_002, template.apply("v", value).length());
+        // The shared builder is dropped after growing, later renders still work
+        assertEquals("<y>", template.apply("v", "y"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.wdp.quest.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    // 3 messages in a row, one regained per second
+    private static TokenBucket bucket() {
+        return new TokenBucket(3, 1 / 1000.0, 0);
+    }
+
+    @Test
+    void allowsABurstBeforeWarning() {
+        TokenBucket bucket = bucket();
+
+        bucket.take(0);
+        assertFalse(bucket.shouldWarn());
+        bucket.take(0);
+        assertFalse(bucket.shouldWarn());
+        bucket.take(0);
+        assertTrue(bucket.shouldWarn());
+    }
+
+    @Test
+    void warnsOncePerEmptyBucket() {
+        TokenBucket bucket = bucket();
+        for (int i = 0; i < 3; i++) {
+            bucket.take(0);
+        }
+        assertTrue(bucket.shouldWarn());
+
+        bucket.take(10);
+        assertFalse(bucket.shouldWarn());
+        bucket.take(20);
+        assertFalse(bucket.shouldWarn());
+    }
+
+    @Test
+    void warningReArmsAfterRefill() {
+        TokenBucket bucket = bucket();
+        for (int i = 0; i < 3; i++) {
+            bucket.take(0);
+        }
+        assertTrue(bucket.shouldWarn());
+
+        // Two seconds regain two tokens, one is taken right away
+        bucket.take(2000);
+        assertEquals(1.0, bucket.getTokens(), 1e-9);
+        assertFalse(bucket.shouldWarn());
+
+        bucket.take(2000);
+        assertTrue(bucket.shouldWarn());
+    }
+
+    @Test
+    void refillIsCappedAtBurst() {
+        TokenBucket bucket = bucket();
+        bucket.take(0);
+        bucket.take(60_000);
+        assertEquals(2.0, bucket.getTokens(), 1e-9);
+    }
+
+    @Test
+    void tokensNeverGoNegative() {
+        TokenBucket bucket = new TokenBucket(1, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.take(i);
+        }
+        assertEquals(0.0, bucket.getTokens());
+    }
+
+    @Test
+    void clockGoingBackDoesNotRefill() {
+        TokenBucket bucket = bucket();
+        bucket.take(5000);
+        bucket.take(1000);
+        assertEquals(1.0, bucket.getTokens(), 1e-9);
+    }
+}